@@ -1,19 +1,29 @@
 package com.example.eventmangementservice.booking.controller;
 import com.example.eventmangementservice.booking.dto.BookingCreateRequest;
 import com.example.eventmangementservice.booking.dto.BookingResponse;
+import com.example.eventmangementservice.booking.dto.BookingSubmissionResponse;
+import com.example.eventmangementservice.booking.dto.EventSalesResponse;
+import com.example.eventmangementservice.booking.sequencer.BookingSequencer;
 import com.example.eventmangementservice.booking.service.BookingService;
+import com.example.eventmangementservice.booking.service.BookingSubmissionService;
+import com.example.eventmangementservice.booking.waitingroom.WaitingRoomService;
 import com.example.eventmangementservice.common.dto.ApiResponse;
+import com.example.eventmangementservice.common.dto.CursorPage;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/bookings")
@@ -21,6 +31,12 @@ import java.util.UUID;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingSequencer bookingSequencer;
+    private final BookingSubmissionService bookingSubmissionService;
+    private final WaitingRoomService waitingRoomService;
+
+    @Value("${app.booking.sequencer.enabled:false}")
+    private boolean sequencerEnabled;
 
     @GetMapping
     public ResponseEntity<ApiResponse<Page<BookingResponse>>> getUserBookings(
@@ -30,6 +46,16 @@ public class BookingController {
         return ResponseEntity.ok(ApiResponse.success(bookings));
     }
 
+    // Cursor-paged alternative to the listing above; cost stays flat at any depth
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<BookingResponse>>> scrollUserBookings(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<BookingResponse> bookings = bookingService.scrollUserBookings(userDetails.getUsername(), cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(bookings));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<BookingResponse>> getBookingById(
             @PathVariable UUID id,
@@ -38,12 +64,47 @@ public class BookingController {
         return ResponseEntity.ok(ApiResponse.success(booking));
     }
 
+    @GetMapping("/events/{eventId}/sales")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<EventSalesResponse>> getEventSales(@PathVariable UUID eventId) {
+        EventSalesResponse sales = bookingService.getEventSales(eventId);
+        return ResponseEntity.ok(ApiResponse.success(sales));
+    }
+
     @PostMapping
-    public ResponseEntity<ApiResponse<BookingResponse>> createBooking(
+    public CompletableFuture<ResponseEntity<ApiResponse<BookingResponse>>> createBooking(
             @Valid @RequestBody BookingCreateRequest request,
+            @RequestHeader(value = "X-Admission-Token", required = false) String admissionToken,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        waitingRoomService.checkAdmission(request.getEventId(), userDetails.getUsername(), admissionToken);
+        
+        CompletableFuture<BookingResponse> booking = sequencerEnabled
+                ? bookingSequencer.submit(request, userDetails.getUsername())
+                : CompletableFuture.completedFuture(bookingService.createBooking(request, userDetails.getUsername()));
+        return booking.thenApply(created ->
+                new ResponseEntity<>(ApiResponse.success("Booking created successfully", created), HttpStatus.CREATED));
+    }
+
+    // Queues the booking and returns 202 straight away; poll the submission for the result
+    @PostMapping("/submissions")
+    public ResponseEntity<ApiResponse<BookingSubmissionResponse>> submitBooking(
+            @Valid @RequestBody BookingCreateRequest request,
+            @RequestHeader(value = "X-Admission-Token", required = false) String admissionToken,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        waitingRoomService.checkAdmission(request.getEventId(), userDetails.getUsername(), admissionToken);
+        
+        BookingSubmissionResponse submission = bookingSubmissionService.submit(request, userDetails.getUsername());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/bookings/submissions/" + submission.getId()))
+                .body(ApiResponse.success("Booking request accepted", submission));
+    }
+
+    @GetMapping("/submissions/{id}")
+    public ResponseEntity<ApiResponse<BookingSubmissionResponse>> getSubmission(
+            @PathVariable UUID id,
             @AuthenticationPrincipal UserDetails userDetails) {
-        BookingResponse booking = bookingService.createBooking(request, userDetails.getUsername());
-        return new ResponseEntity<>(ApiResponse.success("Booking created successfully", booking), HttpStatus.CREATED);
+        BookingSubmissionResponse submission = bookingSubmissionService.getSubmission(id, userDetails.getUsername());
+        return ResponseEntity.ok(ApiResponse.success(submission));
     }
 
     @PostMapping("/{id}/confirm")
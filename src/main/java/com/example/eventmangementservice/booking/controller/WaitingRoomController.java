@@ -0,0 +1,37 @@
+package com.example.eventmangementservice.booking.controller;
+
+import com.example.eventmangementservice.booking.dto.WaitingRoomResponse;
+import com.example.eventmangementservice.booking.waitingroom.WaitingRoomService;
+import com.example.eventmangementservice.common.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/waiting-room")
+@RequiredArgsConstructor
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @PostMapping("/{eventId}/join")
+    public ResponseEntity<ApiResponse<WaitingRoomResponse>> join(
+            @PathVariable UUID eventId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        WaitingRoomResponse status = waitingRoomService.join(eventId, userDetails.getUsername());
+        return ResponseEntity.ok(ApiResponse.success(status));
+    }
+
+    @GetMapping("/{eventId}/status")
+    public ResponseEntity<ApiResponse<WaitingRoomResponse>> getStatus(
+            @PathVariable UUID eventId,
+            @RequestParam String token,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        WaitingRoomResponse status = waitingRoomService.getStatus(eventId, userDetails.getUsername(), token);
+        return ResponseEntity.ok(ApiResponse.success(status));
+    }
+}
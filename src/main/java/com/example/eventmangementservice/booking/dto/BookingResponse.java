@@ -26,6 +26,7 @@ public class BookingResponse {
     private BookingStatus status;
     private LocalDateTime expiresAt;
     private List<BookingItemDto> items;
+    private List<String> seats;
     private LocalDateTime createdAt;
     private PaymentInfoDto payment;
     
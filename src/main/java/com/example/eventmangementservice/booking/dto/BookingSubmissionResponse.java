@@ -0,0 +1,25 @@
+package com.example.eventmangementservice.booking.dto;
+
+import com.example.eventmangementservice.booking.model.BookingSubmissionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSubmissionResponse {
+
+    private UUID id;
+    private UUID eventId;
+    private BookingSubmissionStatus status;
+    private UUID bookingId;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,29 @@
+package com.example.eventmangementservice.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSalesResponse {
+
+    private UUID eventId;
+    private long confirmedBookings;
+    private long soldTickets;
+    private List<TicketTypeSales> ticketTypes;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TicketTypeSales {
+        private UUID ticketTypeId;
+        private long soldTickets;
+    }
+}
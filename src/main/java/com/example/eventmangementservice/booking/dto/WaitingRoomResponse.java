@@ -0,0 +1,23 @@
+package com.example.eventmangementservice.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WaitingRoomResponse {
+    
+    private UUID eventId;
+    private boolean admitted;
+    private Long position;
+    private String queueToken;
+    private String admissionToken;
+}
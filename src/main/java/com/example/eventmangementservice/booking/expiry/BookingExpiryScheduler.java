@@ -0,0 +1,82 @@
+package com.example.eventmangementservice.booking.expiry;
+
+import com.example.eventmangementservice.booking.model.BookingStatus;
+import com.example.eventmangementservice.booking.repository.BookingHoldView;
+import com.example.eventmangementservice.booking.repository.BookingRepository;
+import com.example.eventmangementservice.booking.service.BookingService;
+import com.example.eventmangementservice.common.scheduling.HierarchicalTimingWheel;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Component
+public class BookingExpiryScheduler {
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ExecutorService expiryExecutor;
+    private final HierarchicalTimingWheel<UUID> timingWheel;
+
+    @Value("${app.booking.expiry.batch-size:100}")
+    private int batchSize;
+
+    public BookingExpiryScheduler(BookingService bookingService,
+                                  BookingRepository bookingRepository,
+                                  @Value("${app.booking.expiry.tick-ms:100}") long tickMs) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.expiryExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "booking-expiry"));
+        // 64 buckets over 4 levels covers about 19 days at a 100ms tick; the 15 minute hold sits on level 2
+        this.timingWheel = new HierarchicalTimingWheel<>("booking-expiry-wheel", tickMs, 64, 4, expiryExecutor, this::expire);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        timingWheel.start();
+        List<BookingHoldView> holds = bookingRepository.findByStatus(BookingStatus.PENDING, BookingHoldView.class);
+        holds.forEach(hold -> register(hold.getId(), hold.getExpiresAt()));
+        log.info("Booking expiry wheel started with {} outstanding holds", holds.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        timingWheel.stop();
+        expiryExecutor.shutdown();
+    }
+
+    @TransactionalEventListener
+    public void onHoldPlaced(BookingHoldPlacedEvent event) {
+        register(event.getBookingId(), event.getExpiresAt());
+    }
+
+    public int getOutstandingHolds() {
+        return timingWheel.size();
+    }
+
+    private void register(UUID bookingId, LocalDateTime expiresAt) {
+        timingWheel.schedule(expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), bookingId);
+    }
+
+    private void expire(List<UUID> bookingIds) {
+        for (int from = 0; from < bookingIds.size(); from += batchSize) {
+            List<UUID> chunk = bookingIds.subList(from, Math.min(from + batchSize, bookingIds.size()));
+            try {
+                bookingService.expireBookings(chunk);
+            } catch (RuntimeException e) {
+                log.error("Failed to expire {} bookings, leaving them for the expiry sweeper", chunk.size(), e);
+            }
+        }
+    }
+}
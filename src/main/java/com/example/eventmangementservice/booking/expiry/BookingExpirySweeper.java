@@ -0,0 +1,71 @@
+package com.example.eventmangementservice.booking.expiry;
+
+import com.example.eventmangementservice.booking.model.BookingStatus;
+import com.example.eventmangementservice.booking.repository.BookingRepository;
+import com.example.eventmangementservice.booking.service.BookingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Backstop for the expiry wheel: drains expired PENDING bookings in SKIP LOCKED chunks, safe to run on every instance
+@Slf4j
+@Component
+public class BookingExpirySweeper {
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final AtomicLong backlog = new AtomicLong();
+    private final Timer chunkTimer;
+    private final Counter releasedCounter;
+
+    @Value("${app.booking.expiry.sweep-chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${app.booking.expiry.sweep-max-chunks:50}")
+    private int maxChunksPerRun;
+
+    public BookingExpirySweeper(BookingService bookingService, BookingRepository bookingRepository, MeterRegistry meterRegistry) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        Gauge.builder("booking.expiry.sweep.backlog", backlog, AtomicLong::get)
+                .description("Expired PENDING bookings waiting to be released")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("booking.expiry.sweep.chunk")
+                .description("Time to claim and release one chunk of expired bookings")
+                .register(meterRegistry);
+        this.releasedCounter = Counter.builder("booking.expiry.sweep.released")
+                .description("Bookings released by the expiry sweeper")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.expiry.sweep-interval-ms:60000}")
+    public void sweep() {
+        backlog.set(bookingRepository.countByStatusAndExpiresAtBefore(BookingStatus.PENDING, LocalDateTime.now()));
+        if (backlog.get() == 0) {
+            return;
+        }
+
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer released = chunkTimer.record(() -> bookingService.sweepExpiredBookings(chunkSize));
+            if (released == null || released == 0) {
+                break;
+            }
+            releasedCounter.increment(released);
+            backlog.addAndGet(-released);
+            total += released;
+            if (released < chunkSize) {
+                break;
+            }
+        }
+        log.info("Expiry sweep released {} bookings, remaining backlog {}", total, Math.max(backlog.get(), 0));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.eventmangementservice.booking.expiry;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@RequiredArgsConstructor
+public class BookingHoldPlacedEvent {
+
+    private final UUID bookingId;
+    private final LocalDateTime expiresAt;
+}
@@ -0,0 +1,143 @@
+package com.example.eventmangementservice.booking.inventory;
+
+import com.example.eventmangementservice.common.exception.BusinessException;
+import com.example.eventmangementservice.common.exception.ResourceNotFoundException;
+import com.example.eventmangementservice.event.model.Event;
+import com.example.eventmangementservice.event.model.TicketType;
+import com.example.eventmangementservice.event.repository.EventRepository;
+import com.example.eventmangementservice.event.repository.TicketTypeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reserves inventory with guarded decrements instead of SELECT ... FOR UPDATE. The updates run in ticket
+ * type id order under a short lock_timeout, and a guard that matches no row means sold out. Either way
+ * the booking's transaction rolls back as a whole, taking any decrements it already made with it; a lock
+ * timeout is reported as high demand rather than retried, since Postgres can't continue a transaction
+ * after an error. The updates bump the @Version column so entity-based edits of the same rows still
+ * detect the concurrent change.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.booking.reservation-mode", havingValue = "conditional-update")
+public class ConditionalUpdateInventoryReservationStrategy implements InventoryReservationStrategy {
+
+    private static final String DECREMENT_TICKET_TYPE =
+            "UPDATE ticket_types SET available = available - ?, version = version + 1 WHERE id = ? AND available >= ?";
+    private static final String DECREMENT_EVENT =
+            "UPDATE events SET available_seats = available_seats - ?, version = version + 1 WHERE id = ? AND available_seats >= ?";
+    private static final String INCREMENT_TICKET_TYPE =
+            "UPDATE ticket_types SET available = available + ?, version = version + 1 WHERE id = ?";
+    private static final String INCREMENT_EVENT =
+            "UPDATE events SET available_seats = available_seats + ?, version = version + 1 WHERE id = ?";
+
+    private final EventRepository eventRepository;
+    private final TicketTypeRepository ticketTypeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EventSeatCounter seatCounter;
+    private final String lockTimeout;
+
+    // Bound as an int so only a number ever reaches set_config
+    public ConditionalUpdateInventoryReservationStrategy(EventRepository eventRepository,
+                                                         TicketTypeRepository ticketTypeRepository,
+                                                         JdbcTemplate jdbcTemplate,
+                                                         EventSeatCounter seatCounter,
+                                                         @Value("${app.booking.conditional-update.lock-timeout-ms:200}") int lockTimeoutMs) {
+        if (lockTimeoutMs <= 0) {
+            throw new IllegalArgumentException("app.booking.conditional-update.lock-timeout-ms must be positive");
+        }
+        this.eventRepository = eventRepository;
+        this.ticketTypeRepository = ticketTypeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.seatCounter = seatCounter;
+        this.lockTimeout = lockTimeoutMs + "ms";
+    }
+
+    @Override
+    public Event loadEvent(UUID eventId) {
+        return eventRepository.findById(eventId)
+                .orElseThrow(() -> ResourceNotFoundException.of("Event", "id", eventId));
+    }
+
+    @Override
+    public int availableSeats(Event event) {
+        return seatCounter.isSharded() ? seatCounter.availableSeats(event) : event.getAvailableSeats();
+    }
+
+    @Override
+    public int availableTickets(TicketType ticketType) {
+        return ticketType.getAvailable();
+    }
+
+    @Override
+    public Map<UUID, TicketType> reserve(Event event, Map<UUID, Integer> quantities) {
+        Map<UUID, TicketType> loaded = ticketTypeRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(TicketType::getId, Function.identity()));
+
+        Map<UUID, TicketType> ticketTypes = new LinkedHashMap<>();
+        for (UUID ticketTypeId : new TreeMap<>(quantities).keySet()) {
+            TicketType ticketType = loaded.get(ticketTypeId);
+            if (ticketType == null) {
+                throw ResourceNotFoundException.of("TicketType", "id", ticketTypeId);
+            }
+
+            // Validate if the ticket type belongs to the requested event
+            if (!ticketType.getEvent().getId().equals(event.getId())) {
+                throw new BusinessException("Ticket type does not belong to the requested event");
+            }
+            ticketTypes.put(ticketTypeId, ticketType);
+        }
+
+        int totalTickets = quantities.values().stream().mapToInt(Integer::intValue).sum();
+        // is_local = true scopes the timeout to the booking's transaction, like SET LOCAL
+        jdbcTemplate.queryForObject("SELECT set_config('lock_timeout', ?, true)", String.class, lockTimeout);
+
+        try {
+            // ticketTypes is in id order, so concurrent bookings take the row locks in the same order
+            for (TicketType ticketType : ticketTypes.values()) {
+                int quantity = quantities.get(ticketType.getId());
+                if (jdbcTemplate.update(DECREMENT_TICKET_TYPE, quantity, ticketType.getId(), quantity) == 0) {
+                    throw new BusinessException("Not enough tickets available for " + ticketType.getName());
+                }
+            }
+            if (seatCounter.isSharded()) {
+                seatCounter.reserve(event, totalTickets);
+            } else if (jdbcTemplate.update(DECREMENT_EVENT, totalTickets, event.getId(), totalTickets) == 0) {
+                throw new BusinessException("No seats available for this event");
+            }
+        } catch (PessimisticLockingFailureException e) {
+            log.warn("Lock timeout reserving for event {}: {}", event.getId(), e.getMessage());
+            throw new BusinessException("Tickets for this event are in high demand, please try again");
+        }
+        return ticketTypes;
+    }
+
+    @Override
+    public void release(InventoryDelta delta) {
+        jdbcTemplate.batchUpdate(INCREMENT_TICKET_TYPE, toBatchArgs(delta.getTicketTypeQuantities()));
+        if (seatCounter.isSharded()) {
+            seatCounter.release(delta.getEventSeats());
+        } else {
+            jdbcTemplate.batchUpdate(INCREMENT_EVENT, toBatchArgs(delta.getEventSeats()));
+        }
+    }
+
+    private List<Object[]> toBatchArgs(Map<UUID, Integer> quantities) {
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        new TreeMap<>(quantities).forEach((id, quantity) -> args.add(new Object[]{quantity, id}));
+        return args;
+    }
+}
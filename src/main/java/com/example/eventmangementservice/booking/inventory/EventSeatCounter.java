@@ -0,0 +1,156 @@
+package com.example.eventmangementservice.booking.inventory;
+
+import com.example.eventmangementservice.common.exception.BusinessException;
+import com.example.eventmangementservice.event.model.Event;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional sharded replacement for the single events.available_seats counter. With more than one slot,
+ * each event's seats are split over event_seat_slots rows and a writer decrements the slot its thread
+ * hashes to, only falling back to locking every slot when that one runs short. events.available_seats
+ * becomes a rolled-up aggregate, refreshed on a timer, that EventResponse and search indexing keep reading.
+ */
+@Component
+public class EventSeatCounter {
+
+    // Splits the current events row over the slots the first time an event is touched in sharded mode
+    private static final String SEED_SLOTS =
+            "INSERT INTO event_seat_slots (event_id, slot, available) " +
+            "SELECT e.id, s.slot, e.available_seats / ? + CASE WHEN s.slot < e.available_seats % ? THEN 1 ELSE 0 END " +
+            "FROM events e CROSS JOIN generate_series(0, ? - 1) AS s(slot) " +
+            "WHERE e.id = ? AND NOT EXISTS (SELECT 1 FROM event_seat_slots x WHERE x.event_id = e.id) " +
+            "ON CONFLICT DO NOTHING";
+    private static final String DECREMENT_SLOT =
+            "UPDATE event_seat_slots SET available = available - ? WHERE event_id = ? AND slot = ? AND available >= ?";
+    private static final String ADJUST_SLOT =
+            "UPDATE event_seat_slots SET available = available + ? WHERE event_id = ? AND slot = ?";
+    private static final String LOCK_SLOTS =
+            "SELECT slot, available FROM event_seat_slots WHERE event_id = ? AND available > 0 ORDER BY slot FOR UPDATE";
+    private static final String SUM_SLOTS =
+            "SELECT s.event_id, SUM(s.available) AS total, e.version FROM event_seat_slots s " +
+            "JOIN events e ON e.id = s.event_id GROUP BY s.event_id, e.version";
+    // Versioned like an entity save, and skipped when the row changed since the sum was read; the next roll-up
+    // picks it up again
+    private static final String ROLL_UP_EVENT =
+            "UPDATE events SET available_seats = ?, version = version + 1 " +
+            "WHERE id = ? AND version = ? AND available_seats <> ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int slots;
+    private final Set<UUID> seededEvents = ConcurrentHashMap.newKeySet();
+    private volatile Map<UUID, Integer> aggregates = Map.of();
+
+    public EventSeatCounter(JdbcTemplate jdbcTemplate, @Value("${app.booking.seat-counter.slots:1}") int slots) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.slots = slots;
+    }
+
+    public boolean isSharded() {
+        return slots > 1;
+    }
+
+    // Cached aggregate as of the last roll-up; only good enough for pre-checks and display
+    public int availableSeats(Event event) {
+        return aggregates.getOrDefault(event.getId(), event.getAvailableSeats());
+    }
+
+    public void reserve(Event event, int seats) {
+        UUID eventId = event.getId();
+        seedSlots(eventId);
+
+        if (jdbcTemplate.update(DECREMENT_SLOT, seats, eventId, preferredSlot(), seats) == 1) {
+            return;
+        }
+
+        // The preferred slot is short: lock every slot with seats left, in slot order, and take from them in turn
+        List<int[]> candidates = jdbcTemplate.query(LOCK_SLOTS,
+                (rs, rowNum) -> new int[]{rs.getInt("slot"), rs.getInt("available")}, eventId);
+        int remaining = seats;
+        List<Object[]> takes = new ArrayList<>();
+        for (int[] candidate : candidates) {
+            int take = Math.min(candidate[1], remaining);
+            takes.add(new Object[]{-take, eventId, candidate[0]});
+            remaining -= take;
+            if (remaining == 0) {
+                break;
+            }
+        }
+        if (remaining > 0) {
+            throw new BusinessException("No seats available for this event");
+        }
+        jdbcTemplate.batchUpdate(ADJUST_SLOT, takes);
+    }
+
+    // Spreads the seats evenly over the slots, so releases don't pile up in whichever slot the caller hashes to
+    // and reservers on other threads still find seats in their own slot. Slots are updated in order, as
+    // reserve locks them.
+    public void release(Map<UUID, Integer> eventSeats) {
+        List<Object[]> args = new ArrayList<>(eventSeats.size() * slots);
+        int offset = preferredSlot();
+        new TreeMap<>(eventSeats).forEach((eventId, seats) -> {
+            seedSlots(eventId);
+            for (int slot = 0; slot < slots; slot++) {
+                // The remainder goes to the slots following the caller's own, so small releases rotate too
+                int share = seats / slots + (Math.floorMod(slot - offset, slots) < seats % slots ? 1 : 0);
+                if (share > 0) {
+                    args.add(new Object[]{share, eventId, slot});
+                }
+            }
+        });
+        jdbcTemplate.batchUpdate(ADJUST_SLOT, args);
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.seat-counter.rollup-interval-ms:1000}")
+    public void rollUp() {
+        if (!isSharded()) {
+            return;
+        }
+        Map<UUID, Integer> totals = new HashMap<>();
+        List<Object[]> args = new ArrayList<>();
+        jdbcTemplate.query(SUM_SLOTS, rs -> {
+            UUID eventId = rs.getObject("event_id", UUID.class);
+            int total = rs.getInt("total");
+            totals.put(eventId, total);
+            args.add(new Object[]{total, eventId, rs.getLong("version"), total});
+        });
+        aggregates = totals;
+        jdbcTemplate.batchUpdate(ROLL_UP_EVENT, args);
+    }
+
+    private void seedSlots(UUID eventId) {
+        if (seededEvents.contains(eventId)) {
+            return;
+        }
+        jdbcTemplate.update(SEED_SLOTS, slots, slots, slots, eventId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // The seed rolls back with a failed booking, so only remember it once it has committed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    seededEvents.add(eventId);
+                }
+            });
+        } else {
+            seededEvents.add(eventId);
+        }
+    }
+
+    // Threads keep to their own slot, so concurrent writers for one event mostly touch different rows
+    private int preferredSlot() {
+        return Math.floorMod(Long.hashCode(Thread.currentThread().getId()) * 0x9E3779B9, slots);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.eventmangementservice.booking.inventory;
+
+import com.example.eventmangementservice.booking.model.Booking;
+import com.example.eventmangementservice.booking.model.BookingItem;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+public class InventoryDelta {
+
+    private final Map<UUID, Integer> ticketTypeQuantities = new HashMap<>();
+    private final Map<UUID, Integer> eventSeats = new HashMap<>();
+
+    public static InventoryDelta of(Booking booking) {
+        InventoryDelta delta = new InventoryDelta();
+        for (BookingItem item : booking.getItems()) {
+            delta.add(booking.getEvent().getId(), item.getTicketType().getId(), item.getQuantity());
+        }
+        return delta;
+    }
+
+    public void add(UUID eventId, UUID ticketTypeId, int quantity) {
+        ticketTypeQuantities.merge(ticketTypeId, quantity, Integer::sum);
+        eventSeats.merge(eventId, quantity, Integer::sum);
+    }
+
+    public boolean isEmpty() {
+        return ticketTypeQuantities.isEmpty() && eventSeats.isEmpty();
+    }
+}
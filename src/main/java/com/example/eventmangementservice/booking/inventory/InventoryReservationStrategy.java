@@ -0,0 +1,22 @@
+package com.example.eventmangementservice.booking.inventory;
+
+import com.example.eventmangementservice.event.model.Event;
+import com.example.eventmangementservice.event.model.TicketType;
+
+import java.util.Map;
+import java.util.UUID;
+
+public interface InventoryReservationStrategy {
+
+    Event loadEvent(UUID eventId);
+
+    int availableSeats(Event event);
+
+    // Unlocked view of a ticket type's stock, for screening a batch before anything is reserved
+    int availableTickets(TicketType ticketType);
+
+    // Reserves all requested quantities or none of them; throws BusinessException when stock is short
+    Map<UUID, TicketType> reserve(Event event, Map<UUID, Integer> quantities);
+
+    void release(InventoryDelta delta);
+}
@@ -0,0 +1,115 @@
+package com.example.eventmangementservice.booking.inventory;
+
+import com.example.eventmangementservice.common.exception.BusinessException;
+import com.example.eventmangementservice.common.exception.ResourceNotFoundException;
+import com.example.eventmangementservice.event.model.Event;
+import com.example.eventmangementservice.event.model.TicketType;
+import com.example.eventmangementservice.event.repository.EventRepository;
+import com.example.eventmangementservice.event.repository.TicketTypeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "app.booking.reservation-mode", havingValue = "ledger")
+@RequiredArgsConstructor
+public class LedgerInventoryReservationStrategy implements InventoryReservationStrategy {
+
+    private final EventRepository eventRepository;
+    private final TicketTypeRepository ticketTypeRepository;
+    private final TicketInventoryLedger ledger;
+
+    @Override
+    public Event loadEvent(UUID eventId) {
+        return eventRepository.findById(eventId)
+                .orElseThrow(() -> ResourceNotFoundException.of("Event", "id", eventId));
+    }
+
+    @Override
+    public int availableSeats(Event event) {
+        return ledger.availableSeats(event);
+    }
+
+    @Override
+    public int availableTickets(TicketType ticketType) {
+        return ledger.availableTickets(ticketType);
+    }
+
+    @Override
+    public Map<UUID, TicketType> reserve(Event event, Map<UUID, Integer> quantities) {
+        Map<UUID, TicketType> loaded = ticketTypeRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(TicketType::getId, Function.identity()));
+
+        Map<UUID, TicketType> ticketTypes = new LinkedHashMap<>();
+        for (UUID ticketTypeId : quantities.keySet()) {
+            TicketType ticketType = loaded.get(ticketTypeId);
+            if (ticketType == null) {
+                throw ResourceNotFoundException.of("TicketType", "id", ticketTypeId);
+            }
+
+            // Validate if the ticket type belongs to the requested event
+            if (!ticketType.getEvent().getId().equals(event.getId())) {
+                throw new BusinessException("Ticket type does not belong to the requested event");
+            }
+            ticketTypes.put(ticketTypeId, ticketType);
+        }
+
+        int totalTickets = quantities.values().stream().mapToInt(Integer::intValue).sum();
+        if (!ledger.tryAcquireSeats(event, totalTickets)) {
+            throw new BusinessException("No seats available for this event");
+        }
+
+        Map<UUID, Integer> acquired = new LinkedHashMap<>();
+        for (TicketType ticketType : ticketTypes.values()) {
+            int quantity = quantities.get(ticketType.getId());
+            if (!ledger.tryAcquireTickets(ticketType, quantity)) {
+                // Hand back everything taken so far, the booking is all-or-nothing
+                acquired.forEach(ledger::restoreTickets);
+                ledger.restoreSeats(event.getId(), totalTickets);
+                throw new BusinessException("Not enough tickets available for " + ticketType.getName());
+            }
+            acquired.put(ticketType.getId(), quantity);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    acquired.forEach((id, quantity) -> ledger.recordTicketChange(id, -quantity));
+                    ledger.recordSeatChange(event.getId(), -totalTickets);
+                } else {
+                    acquired.forEach(ledger::restoreTickets);
+                    ledger.restoreSeats(event.getId(), totalTickets);
+                }
+            }
+        });
+
+        return ticketTypes;
+    }
+
+    @Override
+    public void release(InventoryDelta delta) {
+        // Inventory only returns to sale once the cancelling transaction has committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                delta.getTicketTypeQuantities().forEach((id, quantity) -> {
+                    ledger.restoreTickets(id, quantity);
+                    ledger.recordTicketChange(id, quantity);
+                });
+                delta.getEventSeats().forEach((id, quantity) -> {
+                    ledger.restoreSeats(id, quantity);
+                    ledger.recordSeatChange(id, quantity);
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.eventmangementservice.booking.inventory;
+
+import com.example.eventmangementservice.common.exception.BusinessException;
+import com.example.eventmangementservice.common.exception.ResourceNotFoundException;
+import com.example.eventmangementservice.event.model.Event;
+import com.example.eventmangementservice.event.model.TicketType;
+import com.example.eventmangementservice.event.repository.EventRepository;
+import com.example.eventmangementservice.event.repository.TicketTypeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "app.booking.reservation-mode", havingValue = "pessimistic", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PessimisticInventoryReservationStrategy implements InventoryReservationStrategy {
+
+    private final EventRepository eventRepository;
+    private final TicketTypeRepository ticketTypeRepository;
+    private final EventSeatCounter seatCounter;
+
+    @Override
+    public Event loadEvent(UUID eventId) {
+        // Sharded seat slots take their own row locks, so the event row only needs locking when it holds the counter
+        if (seatCounter.isSharded()) {
+            return eventRepository.findById(eventId)
+                    .orElseThrow(() -> ResourceNotFoundException.of("Event", "id", eventId));
+        }
+        // Load the event with a pessimistic lock to prevent race conditions
+        return eventRepository.findByIdWithLock(eventId)
+                .orElseThrow(() -> ResourceNotFoundException.of("Event", "id", eventId));
+    }
+
+    @Override
+    public int availableSeats(Event event) {
+        return seatCounter.isSharded() ? seatCounter.availableSeats(event) : event.getAvailableSeats();
+    }
+
+    @Override
+    public int availableTickets(TicketType ticketType) {
+        return ticketType.getAvailable();
+    }
+
+    @Override
+    public Map<UUID, TicketType> reserve(Event event, Map<UUID, Integer> quantities) {
+        Map<UUID, TicketType> ticketTypes = new LinkedHashMap<>();
+
+        // Lock in a stable order so two bookings for the same ticket types cannot deadlock
+        for (Map.Entry<UUID, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            TicketType ticketType = ticketTypeRepository.findByIdWithLock(entry.getKey())
+                    .orElseThrow(() -> ResourceNotFoundException.of("TicketType", "id", entry.getKey()));
+
+            // Validate if the ticket type belongs to the requested event
+            if (!ticketType.getEvent().getId().equals(event.getId())) {
+                throw new BusinessException("Ticket type does not belong to the requested event");
+            }
+
+            // Check if there are enough tickets available
+            if (ticketType.getAvailable() < entry.getValue()) {
+                throw new BusinessException("Not enough tickets available for " + ticketType.getName());
+            }
+
+            ticketTypes.put(ticketType.getId(), ticketType);
+        }
+
+        // Only decrement once every line has passed validation so a rejected booking leaves nothing behind
+        int totalTickets = 0;
+        for (TicketType ticketType : ticketTypes.values()) {
+            int quantity = quantities.get(ticketType.getId());
+            ticketType.setAvailable(ticketType.getAvailable() - quantity);
+            ticketTypeRepository.save(ticketType);
+            totalTickets += quantity;
+        }
+
+        // Update event available seats
+        if (seatCounter.isSharded()) {
+            seatCounter.reserve(event, totalTickets);
+        } else {
+            event.setAvailableSeats(event.getAvailableSeats() - totalTickets);
+            eventRepository.save(event);
+        }
+
+        return ticketTypes;
+    }
+
+    @Override
+    public void release(InventoryDelta delta) {
+        delta.getTicketTypeQuantities().forEach(ticketTypeRepository::incrementAvailable);
+        if (seatCounter.isSharded()) {
+            seatCounter.release(delta.getEventSeats());
+        } else {
+            delta.getEventSeats().forEach(eventRepository::incrementAvailableSeats);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.eventmangementservice.booking.inventory;
+
+import com.example.eventmangementservice.common.exception.BusinessException;
+import com.example.eventmangementservice.event.model.Event;
+import com.example.eventmangementservice.event.model.TicketType;
+import com.example.eventmangementservice.event.service.EventCapacityChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory source of truth for ticket availability while the ledger reservation mode is active.
+ * Counters are lock-free CAS cells per ticket type and per event; committed changes are queued as
+ * signed deltas and written behind to ticket_types.available and events.available_seats in batches,
+ * bumping each row's version so JPA writers holding an older copy fail instead of overwriting them.
+ * Only one instance may own the ledger at a time: it holds a session advisory lock on a dedicated connection
+ * for as long as it runs, startup fails when another instance has it, and sales stop if the connection is
+ * lost. Because the written-behind columns can trail the
+ * committed bookings by a flush interval, counters are always seeded from the bookings themselves
+ * (capacity minus the quantities of bookings that still hold stock), and a rebuild on startup writes
+ * those values back over the columns. A capacity change made through EventService shifts the live
+ * counters by the change instead of reseeding them, so reservations in flight stay accounted for.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.booking.reservation-mode", havingValue = "ledger")
+@RequiredArgsConstructor
+public class TicketInventoryLedger {
+
+    // Bookings hold stock until they are cancelled or expire; refunds do not return tickets to sale
+    private static final String HELD_QUANTITY =
+            "SELECT COALESCE(SUM(bi.quantity), 0) FROM booking_items bi JOIN bookings b ON b.id = bi.booking_id " +
+            "WHERE b.status NOT IN ('CANCELLED', 'EXPIRED') AND ";
+    private static final String TICKET_TYPE_STOCK =
+            "SELECT t.id, t.quantity AS capacity, t.quantity - (" + HELD_QUANTITY + "bi.ticket_type_id = t.id) AS available " +
+            "FROM ticket_types t ";
+    private static final String EVENT_STOCK =
+            "SELECT e.id, e.total_seats AS capacity, e.total_seats - (" + HELD_QUANTITY + "b.event_id = e.id) AS available " +
+            "FROM events e ";
+    private static final String BOOKABLE_TICKET_TYPES =
+            "JOIN events e ON e.id = t.event_id WHERE e.published = true AND e.deleted = false AND e.start_date > LOCALTIMESTAMP";
+    private static final String BOOKABLE_EVENTS =
+            "WHERE e.published = true AND e.deleted = false AND e.start_date > LOCALTIMESTAMP";
+    private static final String OWNER_LOCK_KEY = "ticket_inventory_ledger";
+    private static final RowMapper<Stock> STOCK_MAPPER = (rs, rowNum) ->
+            new Stock(rs.getObject("id", UUID.class), rs.getInt("capacity"), rs.getInt("available"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+
+    private final ConcurrentHashMap<UUID, AtomicInteger> ticketTypeAvailable = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, AtomicInteger> eventAvailable = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, AtomicInteger> pendingTicketTypeDeltas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, AtomicInteger> pendingEventDeltas = new ConcurrentHashMap<>();
+    // The capacity each counter was seeded against, so a later capacity change can be applied as a delta
+    private final ConcurrentHashMap<UUID, Integer> ticketTypeCapacity = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Integer> eventCapacity = new ConcurrentHashMap<>();
+
+    // Holds the ownership lock; the lock lives exactly as long as this session does
+    private Connection ownerConnection;
+    private volatile boolean owner;
+
+    // Runs before the web server and schedulers start, so no request can touch a counter before it is rebuilt
+    @PostConstruct
+    public void start() throws SQLException {
+        acquireOwnership();
+        rebuild();
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+        owner = false;
+        try (Connection connection = ownerConnection;
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))")) {
+            // Unlock explicitly: closing only hands the session back to the pool, which would keep the lock
+            statement.setString(1, OWNER_LOCK_KEY);
+            statement.execute();
+        } catch (SQLException e) {
+            log.warn("Could not release ticket inventory ledger ownership: {}", e.getMessage());
+        }
+    }
+
+    private void rebuild() {
+        List<Stock> ticketTypes = jdbcTemplate.query(TICKET_TYPE_STOCK + BOOKABLE_TICKET_TYPES, STOCK_MAPPER);
+        List<Stock> events = jdbcTemplate.query(EVENT_STOCK + BOOKABLE_EVENTS, STOCK_MAPPER);
+
+        ticketTypes.forEach(stock -> seed(stock, ticketTypeAvailable, ticketTypeCapacity));
+        events.forEach(stock -> seed(stock, eventAvailable, eventCapacity));
+
+        // Correct whatever the previous owner had not flushed before it stopped
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("UPDATE ticket_types SET available = ?, version = version + 1 " +
+                    "WHERE id = ? AND available <> ?", toResetArgs(ticketTypes));
+            jdbcTemplate.batchUpdate("UPDATE events SET available_seats = ?, version = version + 1 " +
+                    "WHERE id = ? AND available_seats <> ?", toResetArgs(events));
+        });
+
+        log.info("Rebuilt ticket inventory ledger from bookings: {} events, {} ticket types", events.size(), ticketTypes.size());
+    }
+
+    @TransactionalEventListener
+    public void onCapacityChanged(EventCapacityChangedEvent event) {
+        List<Stock> ticketTypes = jdbcTemplate.query(TICKET_TYPE_STOCK + "WHERE t.event_id = ?", STOCK_MAPPER, event.getEventId());
+        ticketTypes.forEach(stock -> shiftCapacity(stock, ticketTypeAvailable, ticketTypeCapacity));
+        jdbcTemplate.query(EVENT_STOCK + "WHERE e.id = ?", STOCK_MAPPER, event.getEventId())
+                .forEach(stock -> shiftCapacity(stock, eventAvailable, eventCapacity));
+    }
+
+    public int availableSeats(Event event) {
+        return eventCounter(event).get();
+    }
+
+    public int availableTickets(TicketType ticketType) {
+        return ticketTypeCounter(ticketType).get();
+    }
+
+    public boolean tryAcquireTickets(TicketType ticketType, int quantity) {
+        return tryAcquire(ticketTypeCounter(ticketType), quantity);
+    }
+
+    public boolean tryAcquireSeats(Event event, int quantity) {
+        return tryAcquire(eventCounter(event), quantity);
+    }
+
+    public void restoreTickets(UUID ticketTypeId, int quantity) {
+        AtomicInteger counter = ticketTypeAvailable.get(ticketTypeId);
+        if (counter != null) {
+            counter.addAndGet(quantity);
+        }
+    }
+
+    public void restoreSeats(UUID eventId, int quantity) {
+        AtomicInteger counter = eventAvailable.get(eventId);
+        if (counter != null) {
+            counter.addAndGet(quantity);
+        }
+    }
+
+    public void recordTicketChange(UUID ticketTypeId, int delta) {
+        pendingTicketTypeDeltas.computeIfAbsent(ticketTypeId, id -> new AtomicInteger()).addAndGet(delta);
+    }
+
+    public void recordSeatChange(UUID eventId, int delta) {
+        pendingEventDeltas.computeIfAbsent(eventId, id -> new AtomicInteger()).addAndGet(delta);
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.inventory.flush-interval-ms:250}")
+    public synchronized void flush() {
+        checkOwnership();
+        Map<UUID, Integer> ticketTypeDeltas = drain(pendingTicketTypeDeltas);
+        Map<UUID, Integer> eventDeltas = drain(pendingEventDeltas);
+
+        if (ticketTypeDeltas.isEmpty() && eventDeltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate("UPDATE ticket_types SET available = available + ?, version = version + 1 " +
+                        "WHERE id = ?", toBatchArgs(ticketTypeDeltas));
+                jdbcTemplate.batchUpdate("UPDATE events SET available_seats = available_seats + ?, version = version + 1 " +
+                        "WHERE id = ?", toBatchArgs(eventDeltas));
+            });
+            log.debug("Flushed inventory deltas: {} ticket types, {} events", ticketTypeDeltas.size(), eventDeltas.size());
+        } catch (Exception e) {
+            // Put the deltas back so the next flush retries them
+            log.error("Failed to flush inventory deltas, will retry: {}", e.getMessage());
+            ticketTypeDeltas.forEach(this::recordTicketChange);
+            eventDeltas.forEach(this::recordSeatChange);
+        }
+    }
+
+    private void acquireOwnership() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        boolean locked;
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))")) {
+            statement.setString(1, OWNER_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                locked = rs.next() && rs.getBoolean(1);
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        if (!locked) {
+            connection.close();
+            throw new IllegalStateException("Another instance owns the ticket inventory ledger; " +
+                    "app.booking.reservation-mode=ledger supports a single active instance only");
+        }
+        ownerConnection = connection;
+        owner = true;
+    }
+
+    // Once the session is gone another instance can take the lock and sell the same stock, so stop selling
+    private void checkOwnership() {
+        if (!owner) {
+            return;
+        }
+        try {
+            if (ownerConnection.isValid(2)) {
+                return;
+            }
+        } catch (SQLException e) {
+            log.debug("Ledger ownership check failed: {}", e.getMessage());
+        }
+        owner = false;
+        log.error("Lost the ticket inventory ledger lock; refusing reservations until this instance is restarted");
+    }
+
+    private boolean tryAcquire(AtomicInteger counter, int quantity) {
+        if (!owner) {
+            throw new BusinessException("Ticket sales are temporarily unavailable, please try again");
+        }
+        while (true) {
+            int current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    // Ticket types and events that were not bookable at startup are seeded from their bookings on first use
+    private AtomicInteger ticketTypeCounter(TicketType ticketType) {
+        AtomicInteger counter = ticketTypeAvailable.get(ticketType.getId());
+        if (counter != null) {
+            return counter;
+        }
+        jdbcTemplate.query(TICKET_TYPE_STOCK + "WHERE t.id = ?", STOCK_MAPPER, ticketType.getId())
+                .forEach(stock -> seed(stock, ticketTypeAvailable, ticketTypeCapacity));
+        return ticketTypeAvailable.computeIfAbsent(ticketType.getId(), id -> new AtomicInteger(0));
+    }
+
+    private AtomicInteger eventCounter(Event event) {
+        AtomicInteger counter = eventAvailable.get(event.getId());
+        if (counter != null) {
+            return counter;
+        }
+        jdbcTemplate.query(EVENT_STOCK + "WHERE e.id = ?", STOCK_MAPPER, event.getId())
+                .forEach(stock -> seed(stock, eventAvailable, eventCapacity));
+        return eventAvailable.computeIfAbsent(event.getId(), id -> new AtomicInteger(0));
+    }
+
+    // putIfAbsent leaves a counter alone once another thread has seeded and started using it
+    private static void seed(Stock stock, Map<UUID, AtomicInteger> counters, Map<UUID, Integer> capacities) {
+        if (counters.putIfAbsent(stock.id(), new AtomicInteger(stock.available())) == null) {
+            capacities.put(stock.id(), stock.capacity());
+        }
+    }
+
+    private static void shiftCapacity(Stock stock, Map<UUID, AtomicInteger> counters, Map<UUID, Integer> capacities) {
+        AtomicInteger counter = counters.get(stock.id());
+        Integer previous = capacities.put(stock.id(), stock.capacity());
+        if (counter != null && previous != null && previous != stock.capacity()) {
+            counter.addAndGet(stock.capacity() - previous);
+            log.info("Capacity of {} changed from {} to {}", stock.id(), previous, stock.capacity());
+        }
+    }
+
+    private Map<UUID, Integer> drain(ConcurrentHashMap<UUID, AtomicInteger> pending) {
+        Map<UUID, Integer> drained = new HashMap<>();
+        pending.forEach((id, delta) -> {
+            int value = delta.getAndSet(0);
+            if (value != 0) {
+                drained.put(id, value);
+            }
+        });
+        return drained;
+    }
+
+    private static List<Object[]> toResetArgs(List<Stock> stocks) {
+        List<Object[]> args = new ArrayList<>(stocks.size());
+        stocks.forEach(stock -> args.add(new Object[]{stock.available(), stock.id(), stock.available()}));
+        return args;
+    }
+
+    private List<Object[]> toBatchArgs(Map<UUID, Integer> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> args.add(new Object[]{delta, id}));
+        return args;
+    }
+
+    private record Stock(UUID id, int capacity, int available) {
+    }
+}
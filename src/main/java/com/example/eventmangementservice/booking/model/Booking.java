@@ -1,5 +1,6 @@
 package com.example.eventmangementservice.booking.model;
 
+import com.example.eventmangementservice.common.id.TimeOrderedId;
 import com.example.eventmangementservice.common.model.BaseEntity;
 import com.example.eventmangementservice.event.model.Event;
 import com.example.eventmangementservice.payment.model.Payment;
@@ -8,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,7 +17,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = @Index(name = "idx_bookings_user_created", columnList = "userId, createdAt, id"))
+@TimeOrderedId
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
@@ -27,6 +30,8 @@ public class Booking extends BaseEntity {
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Event event;
     
     @Column(nullable = false)
@@ -43,8 +48,12 @@ public class Booking extends BaseEntity {
     private LocalDateTime expiresAt;
     
     @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<BookingItem> items = new HashSet<>();
     
     @OneToOne(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Payment payment;
 }
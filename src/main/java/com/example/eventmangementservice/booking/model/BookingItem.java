@@ -1,5 +1,6 @@
 package com.example.eventmangementservice.booking.model;
 
+import com.example.eventmangementservice.common.id.TimeOrderedId;
 import com.example.eventmangementservice.common.model.BaseEntity;
 import com.example.eventmangementservice.event.model.TicketType;
 import jakarta.persistence.*;
@@ -7,11 +8,13 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "booking_items")
+@TimeOrderedId
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
@@ -20,10 +23,14 @@ public class BookingItem extends BaseEntity {
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Booking booking;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ticket_type_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private TicketType ticketType;
     
     @Column(nullable = false)
@@ -0,0 +1,45 @@
+package com.example.eventmangementservice.booking.model;
+
+import com.example.eventmangementservice.common.id.TimeOrderedId;
+import com.example.eventmangementservice.common.model.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// A booking request accepted with 202 and processed by the sequencer; survives a restart while QUEUED
+@Entity
+@Table(name = "booking_submissions", indexes = @Index(name = "idx_booking_submissions_status", columnList = "status"))
+@TimeOrderedId
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSubmission extends BaseEntity {
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private UUID eventId;
+
+    @Column(columnDefinition = "text", nullable = false)
+    private String request;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookingSubmissionStatus status = BookingSubmissionStatus.QUEUED;
+
+    private UUID bookingId;
+
+    private String error;
+
+    private LocalDateTime completedAt;
+
+    // Lease of the instance that dispatched the submission to its lanes; others resume it once this has passed
+    private LocalDateTime claimedUntil;
+}
@@ -0,0 +1,7 @@
+package com.example.eventmangementservice.booking.model;
+
+public enum BookingSubmissionStatus {
+    QUEUED,
+    COMPLETED,
+    REJECTED
+}
@@ -0,0 +1,27 @@
+package com.example.eventmangementservice.booking.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// Confirmed bookings and tickets sold per event, kept up to date by SalesStatsRecorder
+@Entity
+@Table(name = "event_sales_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSalesStats {
+
+    @Id
+    @Column(name = "event_id")
+    private UUID eventId;
+
+    @Column(nullable = false)
+    private long confirmedBookings;
+
+    @Column(nullable = false)
+    private long soldTickets;
+}
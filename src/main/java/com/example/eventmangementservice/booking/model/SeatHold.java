@@ -0,0 +1,38 @@
+package com.example.eventmangementservice.booking.model;
+
+import com.example.eventmangementservice.common.id.EntityUuid;
+import com.example.eventmangementservice.common.id.TimeOrderedId;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// One assigned seat held or sold by a booking; the unique key stops two instances selling the same seat
+@Entity
+@Table(name = "seat_holds",
+        uniqueConstraints = @UniqueConstraint(name = "uk_seat_holds_seat", columnNames = {"section_id", "row_no", "seat_no"}),
+        indexes = @Index(name = "idx_seat_holds_booking_id", columnList = "booking_id"))
+@TimeOrderedId
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHold {
+
+    @Id
+    @EntityUuid
+    private UUID id;
+
+    @Column(name = "booking_id", nullable = false)
+    private UUID bookingId;
+
+    @Column(name = "section_id", nullable = false)
+    private UUID sectionId;
+
+    @Column(name = "row_no", nullable = false)
+    private int rowNo;
+
+    @Column(name = "seat_no", nullable = false)
+    private int seatNo;
+}
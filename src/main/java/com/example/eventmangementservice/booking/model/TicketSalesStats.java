@@ -0,0 +1,38 @@
+package com.example.eventmangementservice.booking.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+// Tickets sold per ticket type, kept up to date by SalesStatsRecorder in the transaction that changes a booking
+@Entity
+@Table(name = "ticket_sales_stats")
+@IdClass(TicketSalesStats.StatsId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSalesStats {
+
+    @Id
+    @Column(name = "event_id")
+    private UUID eventId;
+
+    @Id
+    @Column(name = "ticket_type_id")
+    private UUID ticketTypeId;
+
+    @Column(nullable = false)
+    private long soldTickets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatsId implements Serializable {
+        private UUID eventId;
+        private UUID ticketTypeId;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.eventmangementservice.booking.outbox;
+
+import com.example.eventmangementservice.booking.model.Booking;
+import com.example.eventmangementservice.booking.model.BookingStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// What a BOOKING_* outbox message carries; the event and ticket types are referenced by id only
+public record BookingPayload(
+        UUID id,
+        String bookingNumber,
+        UUID eventId,
+        String userId,
+        BookingStatus status,
+        BigDecimal totalAmount,
+        LocalDateTime expiresAt,
+        List<ItemPayload> items,
+        LocalDateTime createdAt) {
+
+    public record ItemPayload(UUID ticketTypeId, int quantity, BigDecimal unitPrice) {
+    }
+
+    public static BookingPayload from(Booking booking) {
+        List<ItemPayload> items = booking.getItems().stream()
+                .map(item -> new ItemPayload(item.getTicketType().getId(), item.getQuantity(), item.getUnitPrice()))
+                .toList();
+
+        return new BookingPayload(booking.getId(), booking.getBookingNumber(), booking.getEvent().getId(),
+                booking.getUserId(), booking.getStatus(), booking.getTotalAmount(), booking.getExpiresAt(), items,
+                booking.getCreatedAt());
+    }
+}
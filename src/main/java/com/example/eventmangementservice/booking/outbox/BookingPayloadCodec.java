@@ -0,0 +1,59 @@
+package com.example.eventmangementservice.booking.outbox;
+
+import com.example.eventmangementservice.booking.model.BookingStatus;
+import com.example.eventmangementservice.common.outbox.codec.PayloadCodec;
+import com.example.eventmangementservice.common.outbox.codec.PayloadReader;
+import com.example.eventmangementservice.common.outbox.codec.PayloadWriter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class BookingPayloadCodec implements PayloadCodec<BookingPayload> {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    @Override
+    public byte[] encode(BookingPayload payload) {
+        PayloadWriter writer = new PayloadWriter(SCHEMA_VERSION)
+                .writeUuid(payload.id())
+                .writeString(payload.bookingNumber())
+                .writeUuid(payload.eventId())
+                .writeString(payload.userId())
+                .writeEnum(payload.status())
+                .writeDecimal(payload.totalAmount())
+                .writeDateTime(payload.expiresAt());
+
+        writer.writeCount(payload.items().size());
+        for (BookingPayload.ItemPayload item : payload.items()) {
+            writer.writeUuid(item.ticketTypeId())
+                    .writeInt(item.quantity())
+                    .writeDecimal(item.unitPrice());
+        }
+
+        return writer.writeDateTime(payload.createdAt()).toByteArray();
+    }
+
+    @Override
+    public BookingPayload decode(byte[] data) {
+        PayloadReader reader = new PayloadReader(data).expectVersion("BookingPayload", SCHEMA_VERSION);
+
+        var id = reader.readUuid();
+        var bookingNumber = reader.readString();
+        var eventId = reader.readUuid();
+        var userId = reader.readString();
+        var status = reader.readEnum(BookingStatus.class);
+        var totalAmount = reader.readDecimal();
+        var expiresAt = reader.readDateTime();
+
+        int itemCount = reader.readCount();
+        List<BookingPayload.ItemPayload> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new BookingPayload.ItemPayload(reader.readUuid(), reader.readInt(), reader.readDecimal()));
+        }
+
+        return new BookingPayload(id, bookingNumber, eventId, userId, status, totalAmount, expiresAt, items,
+                reader.readDateTime());
+    }
+}
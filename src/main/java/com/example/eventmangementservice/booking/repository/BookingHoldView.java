@@ -0,0 +1,11 @@
+package com.example.eventmangementservice.booking.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface BookingHoldView {
+    
+    UUID getId();
+    
+    LocalDateTime getExpiresAt();
+}
@@ -4,11 +4,14 @@ import com.example.eventmangementservice.booking.model.Booking;
 import com.example.eventmangementservice.booking.model.BookingStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,10 +23,53 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
     
     Page<Booking> findByUserId(String userId, Pageable pageable);
     
+    // Keyset pages, newest first; both use idx_bookings_user_created so a deep page costs the same as the first
+    @Query(value = "SELECT id FROM bookings WHERE user_id = :userId " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<UUID> findFirstIdsByUserId(String userId, int limit);
+    
+    @Query(value = "SELECT id FROM bookings WHERE user_id = :userId AND (created_at, id) < (:createdAt, :id) " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<UUID> findIdsByUserIdAfter(String userId, LocalDateTime createdAt, UUID id, int limit);
+    
+    // Pages over ids only; the page's bookings are then loaded with findAllWithDetailsByIdIn, which avoids
+    // Hibernate applying the page limit in memory to a collection fetch
+    @Query(value = "SELECT b.id FROM Booking b WHERE b.userId = :userId",
+           countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.userId = :userId")
+    Page<UUID> findIdsByUserId(String userId, Pageable pageable);
+    
+    // Fetches everything BookingResponse reads in a single statement
+    @EntityGraph(attributePaths = {"event", "items", "items.ticketType", "payment"})
+    @Query("SELECT DISTINCT b FROM Booking b WHERE b.id IN :ids")
+    List<Booking> findAllWithDetailsByIdIn(Collection<UUID> ids);
+    
+    @EntityGraph(attributePaths = {"event", "items", "items.ticketType", "payment"})
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findWithDetailsById(UUID id);
+    
     List<Booking> findByEventIdAndUserId(UUID eventId, String userId);
     
     List<Booking> findByStatusAndExpiresAtBefore(BookingStatus status, LocalDateTime expiryTime);
     
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.event.id = :eventId AND b.status = 'CONFIRMED'")
-    long countConfirmedBookingsByEventId(UUID eventId);
+    <T> List<T> findByStatus(BookingStatus status, Class<T> type);
+    
+    // Bumps the version so a concurrent confirm or cancel of the same booking fails its optimistic check
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'EXPIRED', b.version = b.version + 1 " +
+           "WHERE b.id = :id AND b.status = 'PENDING' AND b.expiresAt <= :now")
+    int markExpired(UUID id, LocalDateTime now);
+    
+    long countByStatusAndExpiresAtBefore(BookingStatus status, LocalDateTime expiryTime);
+    
+    // Rows locked by another sweeper are skipped rather than waited on, so instances drain disjoint chunks
+    @Query(value = "SELECT id FROM bookings WHERE status = 'PENDING' AND expires_at < :now " +
+                   "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UUID> claimExpiredBookingIds(LocalDateTime now, int limit);
+    
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'EXPIRED', b.version = b.version + 1 WHERE b.id IN :ids")
+    int markAllExpired(Collection<UUID> ids);
+    
+    @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.items WHERE b.id IN :ids")
+    List<Booking> findAllWithItemsByIdIn(Collection<UUID> ids);
 }
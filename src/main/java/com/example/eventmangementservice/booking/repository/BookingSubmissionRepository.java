@@ -0,0 +1,34 @@
+package com.example.eventmangementservice.booking.repository;
+
+import com.example.eventmangementservice.booking.model.BookingSubmission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BookingSubmissionRepository extends JpaRepository<BookingSubmission, UUID> {
+
+    // Runs in the booking's own transaction, so a submission is COMPLETED exactly when its booking commits
+    @Modifying
+    @Query("UPDATE BookingSubmission s SET s.status = 'COMPLETED', s.bookingId = :bookingId, s.completedAt = :now " +
+           "WHERE s.id = :id AND s.status = 'QUEUED'")
+    int markCompleted(UUID id, UUID bookingId, LocalDateTime now);
+
+    // Locks the submissions still QUEUED; one that another instance completes meanwhile is left out once it commits
+    @Query(value = "SELECT id FROM booking_submissions WHERE id IN (:ids) AND status = 'QUEUED' FOR UPDATE",
+           nativeQuery = true)
+    List<UUID> lockQueued(Collection<UUID> ids);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BookingSubmission s SET s.status = 'REJECTED', s.error = :error, s.completedAt = :now " +
+           "WHERE s.id = :id AND s.status = 'QUEUED'")
+    int markRejected(UUID id, String error, LocalDateTime now);
+}
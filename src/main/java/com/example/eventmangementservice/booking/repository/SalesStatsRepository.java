@@ -0,0 +1,20 @@
+package com.example.eventmangementservice.booking.repository;
+
+import com.example.eventmangementservice.booking.model.EventSalesStats;
+import com.example.eventmangementservice.booking.model.TicketSalesStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SalesStatsRepository extends JpaRepository<TicketSalesStats, TicketSalesStats.StatsId> {
+
+    List<TicketSalesStats> findByEventIdOrderByTicketTypeId(UUID eventId);
+
+    @Query("SELECT s FROM EventSalesStats s WHERE s.eventId = :eventId")
+    Optional<EventSalesStats> findEventStats(UUID eventId);
+}
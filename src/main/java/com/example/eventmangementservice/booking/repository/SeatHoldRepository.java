@@ -0,0 +1,23 @@
+package com.example.eventmangementservice.booking.repository;
+
+import com.example.eventmangementservice.booking.model.SeatHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SeatHoldRepository extends JpaRepository<SeatHold, UUID> {
+
+    List<SeatHold> findByBookingIdOrderBySectionIdAscRowNoAscSeatNoAsc(UUID bookingId);
+
+    List<SeatHold> findByBookingIdIn(Collection<UUID> bookingIds);
+
+    @Modifying
+    @Query("DELETE FROM SeatHold h WHERE h.bookingId IN :bookingIds")
+    int deleteByBookingIds(Collection<UUID> bookingIds);
+}
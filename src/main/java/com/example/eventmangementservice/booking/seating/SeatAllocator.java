@@ -0,0 +1,218 @@
+package com.example.eventmangementservice.booking.seating;
+
+import com.example.eventmangementservice.booking.model.SeatHold;
+import com.example.eventmangementservice.booking.repository.SeatHoldRepository;
+import com.example.eventmangementservice.common.exception.BusinessException;
+import com.example.eventmangementservice.common.id.UuidV7;
+import com.example.eventmangementservice.event.model.SeatSection;
+import com.example.eventmangementservice.event.model.TicketType;
+import com.example.eventmangementservice.event.repository.SeatSectionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns adjacent seats for ticket types that are sold by seat. The search runs against in-memory SeatMaps
+ * built from seat_holds; the chosen seats are written as seat_holds rows in one batch, and the unique key
+ * on those rows is what finally arbitrates between instances. A rolled-back booking gives its seats back to
+ * the map after completion of its transaction; callers never roll back part of a transaction, so a booking's
+ * seats are released exactly when its rows are. Seats released on other instances only show up in the
+ * database, so loaded maps are rebuilt from seat_holds every refresh interval, together with this instance's
+ * holds that have not committed yet. Sections are created through the events API.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatAllocator {
+
+    private static final String INSERT_HOLD =
+            "INSERT INTO seat_holds (id, booking_id, section_id, row_no, seat_no) VALUES (?, ?, ?, ?, ?)";
+    private static final String LOAD_HOLDS = "SELECT row_no, seat_no FROM seat_holds WHERE section_id = ?";
+
+    private final SeatSectionRepository seatSectionRepository;
+    private final SeatHoldRepository seatHoldRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<UUID, List<Section>> sectionsByTicketType = new ConcurrentHashMap<>();
+    private final Map<UUID, SeatMap> seatMaps = new ConcurrentHashMap<>();
+    // Holds written by this instance whose transaction has not completed; they are not visible in seat_holds yet
+    private final Set<SeatHold> pendingHolds = ConcurrentHashMap.newKeySet();
+
+    // Holds adjacent seats for each seated ticket type in the booking and returns their labels
+    public List<String> hold(UUID bookingId, Map<UUID, TicketType> ticketTypes, Map<UUID, Integer> quantities) {
+        List<SeatHold> holds = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+
+        try {
+            for (Map.Entry<UUID, Integer> entry : quantities.entrySet()) {
+                List<Section> sections = sections(entry.getKey());
+                if (sections.isEmpty()) {
+                    continue;
+                }
+
+                int quantity = entry.getValue();
+                Section chosen = null;
+                int[] position = null;
+                for (Section section : sections) {
+                    position = seatMap(section).allocate(quantity);
+                    if (position != null) {
+                        chosen = section;
+                        break;
+                    }
+                }
+                if (chosen == null) {
+                    throw new BusinessException("Not enough adjacent seats available for " + ticketTypes.get(entry.getKey()).getName());
+                }
+
+                for (int seat = position[1]; seat < position[1] + quantity; seat++) {
+                    holds.add(new SeatHold(UuidV7.next(), bookingId, chosen.id(), position[0], seat));
+                    labels.add(chosen.label(position[0], seat));
+                }
+            }
+            if (holds.isEmpty()) {
+                return labels;
+            }
+
+            pendingHolds.addAll(holds);
+            jdbcTemplate.batchUpdate(INSERT_HOLD, holds.stream()
+                    .map(h -> new Object[]{h.getId(), h.getBookingId(), h.getSectionId(), h.getRowNo(), h.getSeatNo()})
+                    .toList());
+        } catch (DuplicateKeyException e) {
+            // Another instance sold one of these seats since the map was loaded
+            holds.forEach(pendingHolds::remove);
+            holds.forEach(h -> seatMaps.remove(h.getSectionId()));
+            throw new BusinessException("Some of the selected seats were just taken, please try again");
+        } catch (RuntimeException e) {
+            holds.forEach(pendingHolds::remove);
+            releaseInMemory(holds);
+            throw e;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                holds.forEach(pendingHolds::remove);
+                if (status != STATUS_COMMITTED) {
+                    releaseInMemory(holds);
+                }
+            }
+        });
+        return labels;
+    }
+
+    public void release(Collection<UUID> bookingIds) {
+        List<SeatHold> holds = seatHoldRepository.findByBookingIdIn(bookingIds);
+        if (holds.isEmpty()) {
+            return;
+        }
+        seatHoldRepository.deleteByBookingIds(bookingIds);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                releaseInMemory(holds);
+            }
+        });
+    }
+
+    public List<String> seatLabels(UUID bookingId) {
+        List<String> labels = new ArrayList<>();
+        for (SeatHold hold : seatHoldRepository.findByBookingIdOrderBySectionIdAscRowNoAscSeatNoAsc(bookingId)) {
+            seatSectionRepository.findById(hold.getSectionId())
+                    .ifPresent(section -> labels.add(Section.of(section).label(hold.getRowNo(), hold.getSeatNo())));
+        }
+        return labels;
+    }
+
+    private void releaseInMemory(List<SeatHold> holds) {
+        for (SeatHold hold : holds) {
+            SeatMap seatMap = seatMaps.get(hold.getSectionId());
+            if (seatMap != null) {
+                seatMap.release(hold.getRowNo(), hold.getSeatNo());
+            }
+        }
+    }
+
+    // Picks up seats released on other instances and sections added since the maps were loaded
+    @Scheduled(fixedDelayString = "${app.booking.seating.refresh-interval-ms:30000}")
+    public void refresh() {
+        List<Section> loaded = sectionsByTicketType.values().stream()
+                .flatMap(List::stream)
+                .filter(section -> seatMaps.containsKey(section.id()))
+                .toList();
+        sectionsByTicketType.clear();
+
+        for (Section section : loaded) {
+            SeatMap rebuilt = load(section);
+            seatMaps.put(section.id(), rebuilt);
+            // Holds taken from the previous map while this one was being built
+            pendingHolds(section.id()).forEach(h -> rebuilt.hold(h.getRowNo(), h.getSeatNo()));
+        }
+    }
+
+    private List<Section> sections(UUID ticketTypeId) {
+        List<Section> sections = sectionsByTicketType.get(ticketTypeId);
+        if (sections != null) {
+            return sections;
+        }
+        sections = seatSectionRepository.findByTicketTypeIdOrderBySortOrder(ticketTypeId).stream().map(Section::of).toList();
+        // Most ticket types are not seated; not caching them means a first section is picked up straight away
+        if (!sections.isEmpty()) {
+            sectionsByTicketType.put(ticketTypeId, sections);
+        }
+        return sections;
+    }
+
+    private SeatMap seatMap(Section section) {
+        return seatMaps.computeIfAbsent(section.id(), id -> {
+            log.info("Loading seat map for section {} with {} seats", section.name(), section.rowCount() * section.seatsPerRow());
+            return load(section);
+        });
+    }
+
+    private SeatMap load(Section section) {
+        BitSet unavailable = new BitSet(section.rowCount() * section.seatsPerRow());
+        if (section.seatMask() != null) {
+            BitSet seats = BitSet.valueOf(section.seatMask());
+            unavailable.set(0, section.rowCount() * section.seatsPerRow());
+            unavailable.andNot(seats);
+        }
+        // Taken before reading seat_holds, so a hold that commits while the query runs is still counted
+        List<SeatHold> pending = pendingHolds(section.id());
+        jdbcTemplate.query(LOAD_HOLDS, rs -> {
+            unavailable.set(rs.getInt("row_no") * section.seatsPerRow() + rs.getInt("seat_no"));
+        }, section.id());
+        pending.forEach(h -> unavailable.set(h.getRowNo() * section.seatsPerRow() + h.getSeatNo()));
+
+        return new SeatMap(section.rowCount(), section.seatsPerRow(), unavailable);
+    }
+
+    private List<SeatHold> pendingHolds(UUID sectionId) {
+        return pendingHolds.stream().filter(h -> h.getSectionId().equals(sectionId)).toList();
+    }
+
+    private record Section(UUID id, String name, int rowCount, int seatsPerRow, byte[] seatMask) {
+
+        static Section of(SeatSection section) {
+            return new Section(section.getId(), section.getName(), section.getRowCount(),
+                    section.getSeatsPerRow(), section.getSeatMask());
+        }
+
+        String label(int row, int seat) {
+            return name + "-" + (row + 1) + "-" + (seat + 1);
+        }
+    }
+}
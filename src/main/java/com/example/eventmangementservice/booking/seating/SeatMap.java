@@ -0,0 +1,163 @@
+package com.example.eventmangementservice.booking.seating;
+
+import java.util.BitSet;
+
+/**
+ * In-memory free-seat index for one section. Seat state is a row-major bitset; each row also keeps a segment
+ * tree of free runs (longest free prefix, suffix and overall run per node), and a max-tree over rows points at
+ * the front-most row that still has a long enough run. Finding and holding N adjacent seats is O(log rows +
+ * log seatsPerRow) and never touches the database.
+ */
+public class SeatMap {
+
+    private final int rowCount;
+    private final int seatsPerRow;
+    private final BitSet taken;
+    private final RowTree[] rows;
+    private final int rowLeaves;
+    private final int[] rowBest;
+
+    // unavailable: row-major positions that are held, sold or not a seat at all
+    public SeatMap(int rowCount, int seatsPerRow, BitSet unavailable) {
+        this.rowCount = rowCount;
+        this.seatsPerRow = seatsPerRow;
+        this.taken = (BitSet) unavailable.clone();
+        this.rows = new RowTree[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            rows[row] = new RowTree(row);
+        }
+
+        int leaves = 1;
+        while (leaves < rowCount) {
+            leaves <<= 1;
+        }
+        this.rowLeaves = leaves;
+        this.rowBest = new int[2 * leaves];
+        for (int row = 0; row < rowCount; row++) {
+            rowBest[leaves + row] = rows[row].best();
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            rowBest[node] = Math.max(rowBest[2 * node], rowBest[2 * node + 1]);
+        }
+    }
+
+    // Holds `count` adjacent seats in the front-most row that has them; returns {row, firstSeat} or null
+    public synchronized int[] allocate(int count) {
+        if (count <= 0 || rowBest[1] < count) {
+            return null;
+        }
+        int node = 1;
+        while (node < rowLeaves) {
+            node = rowBest[2 * node] >= count ? 2 * node : 2 * node + 1;
+        }
+        int row = node - rowLeaves;
+        int firstSeat = rows[row].findRun(count);
+        for (int seat = firstSeat; seat < firstSeat + count; seat++) {
+            setTaken(row, seat, true);
+        }
+        return new int[]{row, firstSeat};
+    }
+
+    public synchronized void hold(int row, int seat) {
+        setTaken(row, seat, true);
+    }
+
+    public synchronized void release(int row, int seat) {
+        setTaken(row, seat, false);
+    }
+
+    public synchronized int freeSeats() {
+        return rowCount * seatsPerRow - taken.cardinality();
+    }
+
+    private void setTaken(int row, int seat, boolean value) {
+        int index = row * seatsPerRow + seat;
+        if (taken.get(index) == value) {
+            return;
+        }
+        taken.set(index, value);
+        rows[row].update(seat, !value);
+
+        int node = rowLeaves + row;
+        rowBest[node] = rows[row].best();
+        for (node >>= 1; node > 0; node >>= 1) {
+            rowBest[node] = Math.max(rowBest[2 * node], rowBest[2 * node + 1]);
+        }
+    }
+
+    private class RowTree {
+
+        private final int leaves;
+        private final int[] prefix;
+        private final int[] suffix;
+        private final int[] best;
+
+        RowTree(int row) {
+            int size = 1;
+            while (size < seatsPerRow) {
+                size <<= 1;
+            }
+            this.leaves = size;
+            this.prefix = new int[2 * size];
+            this.suffix = new int[2 * size];
+            this.best = new int[2 * size];
+
+            // Padding leaves past the end of the row stay 0, i.e. taken
+            int offset = row * seatsPerRow;
+            for (int seat = 0; seat < seatsPerRow; seat++) {
+                int free = taken.get(offset + seat) ? 0 : 1;
+                prefix[size + seat] = free;
+                suffix[size + seat] = free;
+                best[size + seat] = free;
+            }
+            for (int node = size - 1; node > 0; node--) {
+                merge(node);
+            }
+        }
+
+        int best() {
+            return best[1];
+        }
+
+        void update(int seat, boolean free) {
+            int node = leaves + seat;
+            int value = free ? 1 : 0;
+            prefix[node] = value;
+            suffix[node] = value;
+            best[node] = value;
+            for (node >>= 1; node > 0; node >>= 1) {
+                merge(node);
+            }
+        }
+
+        // Leftmost start of a free run of at least `count` seats; the caller has checked best() >= count
+        int findRun(int count) {
+            int node = 1;
+            int start = 0;
+            int span = leaves;
+            while (node < leaves) {
+                int left = 2 * node;
+                int half = span / 2;
+                if (best[left] >= count) {
+                    node = left;
+                } else if (suffix[left] + prefix[left + 1] >= count) {
+                    return start + half - suffix[left];
+                } else {
+                    node = left + 1;
+                    start += half;
+                }
+                span = half;
+            }
+            return start;
+        }
+
+        private void merge(int node) {
+            int left = 2 * node;
+            int right = left + 1;
+            int half = leaves >> (31 - Integer.numberOfLeadingZeros(node)) >> 1;
+            prefix[node] = prefix[left] == half ? half + prefix[right] : prefix[left];
+            suffix[node] = suffix[right] == half ? half + suffix[left] : suffix[right];
+            best[node] = Math.max(Math.max(best[left], best[right]), suffix[left] + prefix[right]);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.eventmangementservice.booking.sequencer;
+
+import com.example.eventmangementservice.booking.dto.BookingCreateRequest;
+import com.example.eventmangementservice.booking.dto.BookingResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Getter
+@RequiredArgsConstructor
+public class BookingCommand {
+
+    private final BookingCreateRequest request;
+    private final String userId;
+    // Set for asynchronous submissions, whose status is completed in the booking's transaction
+    private final UUID submissionId;
+    private final CompletableFuture<BookingResponse> result = new CompletableFuture<>();
+}
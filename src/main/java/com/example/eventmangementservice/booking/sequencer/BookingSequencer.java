@@ -0,0 +1,267 @@
+package com.example.eventmangementservice.booking.sequencer;
+
+import com.example.eventmangementservice.booking.dto.BookingCreateRequest;
+import com.example.eventmangementservice.booking.dto.BookingResponse;
+import com.example.eventmangementservice.booking.repository.BookingSubmissionRepository;
+import com.example.eventmangementservice.booking.service.BookingService;
+import com.example.eventmangementservice.common.exception.BusinessException;
+import com.example.eventmangementservice.common.idempotency.Idempotent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes booking commands to single-writer lanes by event id. A lane collects whatever queues up within a
+ * short linger window and commits each event's commands as one transaction, so bookings for a hot event
+ * queue in memory instead of waiting on the event row lock while holding a pooled connection. The batch is
+ * screened against current stock before anything is written; only the commands that pass share the
+ * transaction, so a rejection never has to be undone inside it. Screened-out commands, and every command
+ * of a shared transaction that fails anyway, are then run one transaction each for an authoritative answer.
+ * The lanes start with the application only when app.booking.sequencer.enabled puts the sequencer on the
+ * booking path; otherwise they start when the first queued submission needs them.
+ */
+@Slf4j
+@Component
+public class BookingSequencer {
+
+    private final BookingService bookingService;
+    private final BookingSubmissionRepository submissionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.booking.sequencer.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.booking.sequencer.lanes:4}")
+    private int laneCount;
+
+    @Value("${app.booking.sequencer.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.booking.sequencer.max-batch-size:32}")
+    private int maxBatchSize;
+
+    @Value("${app.booking.sequencer.linger-ms:2}")
+    private long lingerMs;
+
+    private volatile Lane[] lanes;
+
+    public BookingSequencer(BookingService bookingService, BookingSubmissionRepository submissionRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.bookingService = bookingService;
+        this.submissionRepository = submissionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void startIfEnabled() {
+        if (enabled) {
+            start();
+        }
+    }
+
+    public synchronized void start() {
+        if (lanes != null) {
+            return;
+        }
+        Lane[] started = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            started[i] = new Lane(i);
+            started[i].start();
+        }
+        lanes = started;
+        log.info("Started booking sequencer with {} lanes", laneCount);
+    }
+
+    @PreDestroy
+    public void stop() {
+        Lane[] started = lanes;
+        if (started == null) {
+            return;
+        }
+        for (Lane lane : started) {
+            lane.interrupt();
+        }
+    }
+
+    @Idempotent(scope = "booking")
+    public CompletableFuture<BookingResponse> submit(BookingCreateRequest request, String userId) {
+        return enqueue(new BookingCommand(request, userId, null));
+    }
+
+    public CompletableFuture<BookingResponse> submitQueued(UUID submissionId, BookingCreateRequest request, String userId) {
+        return enqueue(new BookingCommand(request, userId, submissionId));
+    }
+
+    private CompletableFuture<BookingResponse> enqueue(BookingCommand command) {
+        BookingCreateRequest request = command.getRequest();
+        Lane[] started = lanes;
+        if (started == null) {
+            start();
+            started = lanes;
+        }
+        Lane lane = started[Math.floorMod(request.getEventId().hashCode(), started.length)];
+
+        if (!lane.queue.offer(command)) {
+            command.getResult().completeExceptionally(
+                    new BusinessException("Too many pending bookings for this event, please try again"));
+        }
+        return command.getResult();
+    }
+
+    private void processBatch(List<BookingCommand> batch) {
+        if (batch.size() == 1) {
+            processSingle(batch.get(0));
+            return;
+        }
+
+        Map<BookingCreateRequest, RuntimeException> rejections;
+        try {
+            rejections = bookingService.screenBookings(batch.get(0).getRequest().getEventId(),
+                    batch.stream().map(BookingCommand::getRequest).toList());
+        } catch (RuntimeException e) {
+            log.warn("Could not screen booking batch of {}, running it individually: {}", batch.size(), e.getMessage());
+            batch.forEach(this::processSingle);
+            return;
+        }
+
+        List<BookingCommand> accepted = new ArrayList<>(batch.size());
+        List<BookingCommand> rejected = new ArrayList<>();
+        for (BookingCommand command : batch) {
+            (rejections.containsKey(command.getRequest()) ? rejected : accepted).add(command);
+        }
+
+        if (!accepted.isEmpty()) {
+            Map<BookingCommand, BookingResponse> responses = new IdentityHashMap<>();
+            List<BookingCommand> duplicates = new ArrayList<>();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Set<UUID> queued = lockQueuedSubmissions(accepted);
+                    for (BookingCommand command : accepted) {
+                        if (command.getSubmissionId() != null && !queued.contains(command.getSubmissionId())) {
+                            duplicates.add(command);
+                        } else {
+                            responses.put(command, execute(command));
+                        }
+                    }
+                });
+                responses.forEach((command, response) -> command.getResult().complete(response));
+                duplicates.forEach(command -> command.getResult().completeExceptionally(
+                        new BusinessException("Booking submission has already been processed")));
+            } catch (RuntimeException e) {
+                // Stock moved since screening, a seat was taken or the commit failed: nothing was written,
+                // and every command's compensation has run, so each can be retried on its own
+                log.warn("Booking batch of {} failed, retrying individually: {}", accepted.size(), e.getMessage());
+                accepted.forEach(this::processSingle);
+            }
+        }
+
+        // Stock may have been released since screening, so a screened-out command still gets its own attempt
+        rejected.forEach(this::processSingle);
+    }
+
+    private void processSingle(BookingCommand command) {
+        try {
+            command.getResult().complete(transactionTemplate.execute(status -> execute(command)));
+        } catch (RuntimeException e) {
+            command.getResult().completeExceptionally(e);
+        }
+    }
+
+    private BookingResponse execute(BookingCommand command) {
+        BookingResponse response = bookingService.createBookingInCurrentTransaction(command.getRequest(), command.getUserId());
+        if (command.getSubmissionId() != null
+                && submissionRepository.markCompleted(command.getSubmissionId(), response.getId(), LocalDateTime.now()) == 0) {
+            // Another instance picked up the same queued submission and got there first
+            throw new BusinessException("Booking submission has already been processed");
+        }
+        return response;
+    }
+
+    // A submission resumed by another instance can reach a lane here too; locking the rows up front lets a
+    // copy the other instance already completed drop out on its own instead of failing the whole batch
+    private Set<UUID> lockQueuedSubmissions(List<BookingCommand> commands) {
+        List<UUID> submissionIds = commands.stream().map(BookingCommand::getSubmissionId).filter(Objects::nonNull).toList();
+        return submissionIds.isEmpty() ? Set.of() : new HashSet<>(submissionRepository.lockQueued(submissionIds));
+    }
+
+    // A lane serves several events; each event's commands commit together and stay out of the others' transactions
+    private static Collection<List<BookingCommand>> groupByEvent(List<BookingCommand> batch) {
+        Map<UUID, List<BookingCommand>> byEvent = new LinkedHashMap<>();
+        for (BookingCommand command : batch) {
+            byEvent.computeIfAbsent(command.getRequest().getEventId(), eventId -> new ArrayList<>()).add(command);
+        }
+        return byEvent.values();
+    }
+
+    private class Lane extends Thread {
+
+        private final BlockingQueue<BookingCommand> queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Lane(int index) {
+            super("booking-lane-" + index);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<BookingCommand> batch = new ArrayList<>(maxBatchSize);
+            while (!isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                    collect(batch);
+                    groupByEvent(batch).forEach(BookingSequencer.this::processBatch);
+                } catch (InterruptedException e) {
+                    interrupt();
+                    // Interrupted while lingering: the commands collected so far have not run
+                    BusinessException shutdown = new BusinessException("Booking service is shutting down, please try again");
+                    batch.forEach(command -> command.getResult().completeExceptionally(shutdown));
+                } catch (RuntimeException e) {
+                    log.error("Unexpected error in {}", getName(), e);
+                    batch.forEach(command -> command.getResult().completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+
+            BusinessException shutdown = new BusinessException("Booking service is shutting down, please try again");
+            queue.forEach(command -> command.getResult().completeExceptionally(shutdown));
+        }
+
+        // Waits up to the linger window for more commands so a moderately busy lane still commits in batches
+        private void collect(List<BookingCommand> batch) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+            while (batch.size() < maxBatchSize) {
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                long remaining = deadline - System.nanoTime();
+                if (batch.size() >= maxBatchSize || remaining <= 0) {
+                    return;
+                }
+                BookingCommand next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+            }
+        }
+    }
+}
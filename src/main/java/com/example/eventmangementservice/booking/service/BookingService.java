@@ -2,35 +2,55 @@ package com.example.eventmangementservice.booking.service;
 
 import com.example.eventmangementservice.booking.dto.BookingCreateRequest;
 import com.example.eventmangementservice.booking.dto.BookingResponse;
+import com.example.eventmangementservice.booking.dto.EventSalesResponse;
+import com.example.eventmangementservice.booking.expiry.BookingHoldPlacedEvent;
+import com.example.eventmangementservice.booking.inventory.InventoryDelta;
+import com.example.eventmangementservice.booking.inventory.InventoryReservationStrategy;
 import com.example.eventmangementservice.booking.model.Booking;
 import com.example.eventmangementservice.booking.model.BookingItem;
 import com.example.eventmangementservice.booking.model.BookingStatus;
+import com.example.eventmangementservice.booking.outbox.BookingPayload;
+import com.example.eventmangementservice.booking.outbox.BookingPayloadCodec;
 import com.example.eventmangementservice.booking.repository.BookingItemRepository;
 import com.example.eventmangementservice.booking.repository.BookingRepository;
+import com.example.eventmangementservice.booking.repository.SalesStatsRepository;
+import com.example.eventmangementservice.booking.seating.SeatAllocator;
+import com.example.eventmangementservice.booking.stats.SalesStatsRecorder;
+import com.example.eventmangementservice.common.dto.CursorPage;
 import com.example.eventmangementservice.common.exception.BusinessException;
 import com.example.eventmangementservice.common.exception.ResourceNotFoundException;
+import com.example.eventmangementservice.common.id.SnowflakeIdGenerator;
+import com.example.eventmangementservice.common.idempotency.Idempotent;
 import com.example.eventmangementservice.common.outbox.OutboxMessage;
 import com.example.eventmangementservice.common.outbox.OutboxRepository;
 import com.example.eventmangementservice.common.outbox.OutboxStatus;
+import com.example.eventmangementservice.common.pagination.KeysetCursor;
 import com.example.eventmangementservice.event.model.Event;
 import com.example.eventmangementservice.event.model.TicketType;
 import com.example.eventmangementservice.event.repository.EventRepository;
 import com.example.eventmangementservice.event.repository.TicketTypeRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -42,59 +62,109 @@ public class BookingService {
     private final BookingItemRepository bookingItemRepository;
     private final EventRepository eventRepository;
     private final TicketTypeRepository ticketTypeRepository;
+    private final InventoryReservationStrategy reservationStrategy;
     private final OutboxRepository outboxRepository;
-    private final ObjectMapper objectMapper;
+    private final BookingPayloadCodec bookingPayloadCodec;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SnowflakeIdGenerator idGenerator;
+    private final SeatAllocator seatAllocator;
+    private final SalesStatsRecorder salesStatsRecorder;
+    private final SalesStatsRepository salesStatsRepository;
 
     private static final int BOOKING_EXPIRY_MINUTES = 15;
 
     @Transactional(readOnly = true)
     public Page<BookingResponse> getUserBookings(String userId, Pageable pageable) {
-        return bookingRepository.findByUserId(userId, pageable)
-                .map(this::mapToBookingResponse);
+        Page<UUID> bookingIds = bookingRepository.findIdsByUserId(userId, pageable);
+        if (bookingIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, bookingIds.getTotalElements());
+        }
+        
+        Map<UUID, Booking> bookings = bookingRepository.findAllWithDetailsByIdIn(bookingIds.getContent()).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        return bookingIds.map(id -> mapToBookingResponse(bookings.get(id)));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<BookingResponse> scrollUserBookings(String userId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = KeysetCursor.pageSize(size);
+        
+        // Ask for one extra row to learn whether there is a next page without a COUNT
+        List<UUID> ids = after == null
+                ? bookingRepository.findFirstIdsByUserId(userId, limit + 1)
+                : bookingRepository.findIdsByUserIdAfter(userId, after.createdAt(), after.id(), limit + 1);
+        boolean hasNext = ids.size() > limit;
+        List<UUID> pageIds = hasNext ? ids.subList(0, limit) : ids;
+        if (pageIds.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        
+        Map<UUID, Booking> bookings = bookingRepository.findAllWithDetailsByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        List<BookingResponse> items = pageIds.stream()
+                .map(id -> mapToBookingResponse(bookings.get(id)))
+                .collect(Collectors.toList());
+        
+        Booking last = bookings.get(pageIds.get(pageIds.size() - 1));
+        return new CursorPage<>(items, hasNext ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null);
     }
 
     @Transactional(readOnly = true)
     public BookingResponse getBookingById(UUID id, String userId) {
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findWithDetailsById(id)
                 .orElseThrow(() -> ResourceNotFoundException.of("Booking", "id", id));
         
         if (!booking.getUserId().equals(userId)) {
             throw new BusinessException("You don't have permission to view this booking");
         }
         
-        return mapToBookingResponse(booking);
+        BookingResponse response = mapToBookingResponse(booking);
+        response.setSeats(seatAllocator.seatLabels(booking.getId()));
+        return response;
     }
 
+    // Single-row lookups on the counters SalesStatsRecorder maintains, not scans over bookings
+    @Transactional(readOnly = true)
+    public EventSalesResponse getEventSales(UUID eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw ResourceNotFoundException.of("Event", "id", eventId);
+        }
+
+        EventSalesResponse.EventSalesResponseBuilder response = EventSalesResponse.builder().eventId(eventId);
+        salesStatsRepository.findEventStats(eventId).ifPresent(stats -> response
+                .confirmedBookings(stats.getConfirmedBookings())
+                .soldTickets(stats.getSoldTickets()));
+        return response
+                .ticketTypes(salesStatsRepository.findByEventIdOrderByTicketTypeId(eventId).stream()
+                        .map(stats -> new EventSalesResponse.TicketTypeSales(stats.getTicketTypeId(), stats.getSoldTickets()))
+                        .toList())
+                .build();
+    }
+
+    @Idempotent(scope = "booking")
     @Transactional
     public BookingResponse createBooking(BookingCreateRequest request, String userId) {
-        // Load the event with a pessimistic lock to prevent race conditions
-        Event event = eventRepository.findByIdWithLock(request.getEventId())
-                .orElseThrow(() -> ResourceNotFoundException.of("Event", "id", request.getEventId()));
+        return createBookingInCurrentTransaction(request, userId);
+    }
+
+    // Joins the caller's transaction, which the sequencer shares between the bookings it has screened; any
+    // exception here has to roll that whole transaction back, since the writes so far can't be undone alone
+    public BookingResponse createBookingInCurrentTransaction(BookingCreateRequest request, String userId) {
+        Event event = reservationStrategy.loadEvent(request.getEventId());
         
         // Validate if event is bookable
         validateEventForBooking(event);
         
-        // Process each ticket type and validate availability
+        // Reserve every requested ticket type up front; this validates ownership and availability
+        Map<UUID, Integer> quantities = quantities(request);
+        Map<UUID, TicketType> ticketTypes = reservationStrategy.reserve(event, quantities);
+        
         Set<BookingItem> bookingItems = new HashSet<>();
         BigDecimal totalAmount = BigDecimal.ZERO;
         
         for (BookingCreateRequest.BookingItemRequest itemRequest : request.getItems()) {
-            TicketType ticketType = ticketTypeRepository.findByIdWithLock(itemRequest.getTicketTypeId())
-                    .orElseThrow(() -> ResourceNotFoundException.of("TicketType", "id", itemRequest.getTicketTypeId()));
-            
-            // Validate if the ticket type belongs to the requested event
-            if (!ticketType.getEvent().getId().equals(event.getId())) {
-                throw new BusinessException("Ticket type does not belong to the requested event");
-            }
-            
-            // Check if there are enough tickets available
-            if (ticketType.getAvailable() < itemRequest.getQuantity()) {
-                throw new BusinessException("Not enough tickets available for " + ticketType.getName());
-            }
-            
-            // Decrease available tickets
-            ticketType.setAvailable(ticketType.getAvailable() - itemRequest.getQuantity());
-            ticketTypeRepository.save(ticketType);
+            TicketType ticketType = ticketTypes.get(itemRequest.getTicketTypeId());
             
             // Create booking item
             BookingItem bookingItem = new BookingItem();
@@ -117,20 +187,76 @@ public class BookingService {
         booking.setExpiresAt(LocalDateTime.now().plusMinutes(BOOKING_EXPIRY_MINUTES));
         
         Booking savedBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingHoldPlacedEvent(savedBooking.getId(), savedBooking.getExpiresAt()));
         
         // Link the booking items to the booking
         bookingItems.forEach(item -> item.setBooking(savedBooking));
         savedBooking.setItems(bookingItems);
         
-        // Update event available seats
-        int totalTickets = bookingItems.stream().mapToInt(BookingItem::getQuantity).sum();
-        event.setAvailableSeats(event.getAvailableSeats() - totalTickets);
-        eventRepository.save(event);
+        // Assign seats for ticket types sold by seat
+        List<String> seats = seatAllocator.hold(savedBooking.getId(), ticketTypes, quantities);
         
         // Create outbox message
         createOutboxMessage("BOOKING_CREATED", savedBooking);
         
-        return mapToBookingResponse(savedBooking);
+        BookingResponse response = mapToBookingResponse(savedBooking);
+        response.setSeats(seats);
+        return response;
+    }
+
+    // Checks one event's batch of requests in order against the stock the requests before them would leave,
+    // without locking or writing, and returns the rejection of each request that would fail. Runs in its own
+    // read-only transaction so the entities it reads never reach the persistence context that does the writes.
+    @Transactional(readOnly = true)
+    public Map<BookingCreateRequest, RuntimeException> screenBookings(UUID eventId, List<BookingCreateRequest> requests) {
+        Map<BookingCreateRequest, RuntimeException> rejections = new IdentityHashMap<>();
+        Event event;
+        try {
+            event = eventRepository.findById(eventId)
+                    .orElseThrow(() -> ResourceNotFoundException.of("Event", "id", eventId));
+            validateEventForBooking(event);
+        } catch (BusinessException | ResourceNotFoundException e) {
+            requests.forEach(request -> rejections.put(request, e));
+            return rejections;
+        }
+        
+        Set<UUID> ticketTypeIds = new HashSet<>();
+        requests.forEach(request -> request.getItems().forEach(item -> ticketTypeIds.add(item.getTicketTypeId())));
+        Map<UUID, TicketType> ticketTypes = ticketTypeRepository.findAllById(ticketTypeIds).stream()
+                .collect(Collectors.toMap(TicketType::getId, Function.identity()));
+        
+        Map<UUID, Integer> remainingTickets = new HashMap<>();
+        int remainingSeats = reservationStrategy.availableSeats(event);
+        for (BookingCreateRequest request : requests) {
+            Map<UUID, Integer> quantities = quantities(request);
+            try {
+                int totalTickets = 0;
+                for (Map.Entry<UUID, Integer> entry : quantities.entrySet()) {
+                    TicketType ticketType = ticketTypes.get(entry.getKey());
+                    if (ticketType == null) {
+                        throw ResourceNotFoundException.of("TicketType", "id", entry.getKey());
+                    }
+                    if (!ticketType.getEvent().getId().equals(eventId)) {
+                        throw new BusinessException("Ticket type does not belong to the requested event");
+                    }
+                    int remaining = remainingTickets.computeIfAbsent(ticketType.getId(),
+                            id -> reservationStrategy.availableTickets(ticketType));
+                    if (remaining < entry.getValue()) {
+                        throw new BusinessException("Not enough tickets available for " + ticketType.getName());
+                    }
+                    totalTickets += entry.getValue();
+                }
+                if (totalTickets > remainingSeats) {
+                    throw new BusinessException("No seats available for this event");
+                }
+                
+                quantities.forEach((id, quantity) -> remainingTickets.merge(id, -quantity, Integer::sum));
+                remainingSeats -= totalTickets;
+            } catch (BusinessException | ResourceNotFoundException e) {
+                rejections.put(request, e);
+            }
+        }
+        return rejections;
     }
 
     @Transactional
@@ -150,6 +276,7 @@ public class BookingService {
             throw new BusinessException("Booking has expired");
         }
         
+        salesStatsRecorder.recordTransition(booking, BookingStatus.CONFIRMED);
         booking.setStatus(BookingStatus.CONFIRMED);
         Booking confirmedBooking = bookingRepository.save(booking);
         
@@ -172,18 +299,10 @@ public class BookingService {
         }
         
         // Release the ticket inventory
-        for (BookingItem item : booking.getItems()) {
-            TicketType ticketType = item.getTicketType();
-            ticketType.setAvailable(ticketType.getAvailable() + item.getQuantity());
-            ticketTypeRepository.save(ticketType);
-        }
-        
-        // Update event available seats
-        Event event = booking.getEvent();
-        int totalTickets = booking.getItems().stream().mapToInt(BookingItem::getQuantity).sum();
-        event.setAvailableSeats(event.getAvailableSeats() + totalTickets);
-        eventRepository.save(event);
+        reservationStrategy.release(InventoryDelta.of(booking));
+        seatAllocator.release(List.of(booking.getId()));
         
+        salesStatsRecorder.recordTransition(booking, BookingStatus.CANCELLED);
         booking.setStatus(BookingStatus.CANCELLED);
         Booking cancelledBooking = bookingRepository.save(booking);
         
@@ -193,29 +312,55 @@ public class BookingService {
     }
 
     @Transactional
-    public void processExpiredBookings() {
-        List<Booking> expiredBookings = bookingRepository.findByStatusAndExpiresAtBefore(
-                BookingStatus.PENDING, LocalDateTime.now());
+    public int sweepExpiredBookings(int chunkSize) {
+        List<UUID> claimedIds = bookingRepository.claimExpiredBookingIds(LocalDateTime.now(), chunkSize);
+        if (claimedIds.isEmpty()) {
+            return 0;
+        }
+        
+        // The claimed rows stay locked until commit, so the set-based update cannot race another sweeper
+        bookingRepository.markAllExpired(claimedIds);
+        List<Booking> expiredBookings = bookingRepository.findAllWithItemsByIdIn(claimedIds);
         
+        // Release the whole chunk's inventory in one aggregated call
+        InventoryDelta delta = new InventoryDelta();
         for (Booking booking : expiredBookings) {
-            // Release the ticket inventory
-            for (BookingItem item : booking.getItems()) {
-                TicketType ticketType = item.getTicketType();
-                ticketType.setAvailable(ticketType.getAvailable() + item.getQuantity());
-                ticketTypeRepository.save(ticketType);
+            booking.getItems().forEach(item ->
+                    delta.add(booking.getEvent().getId(), item.getTicketType().getId(), item.getQuantity()));
+        }
+        reservationStrategy.release(delta);
+        seatAllocator.release(claimedIds);
+        
+        expiredBookings.forEach(booking -> createOutboxMessage("BOOKING_EXPIRED", booking));
+        return claimedIds.size();
+    }
+
+    @Transactional
+    public void expireBookings(Collection<UUID> bookingIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> expiredIds = new ArrayList<>();
+        
+        for (UUID id : bookingIds) {
+            // Skip bookings that were confirmed, cancelled or already expired by another instance
+            if (bookingRepository.markExpired(id, now) > 0) {
+                expiredIds.add(id);
             }
-            
-            // Update event available seats
-            Event event = booking.getEvent();
-            int totalTickets = booking.getItems().stream().mapToInt(BookingItem::getQuantity).sum();
-            event.setAvailableSeats(event.getAvailableSeats() + totalTickets);
-            eventRepository.save(event);
-            
-            booking.setStatus(BookingStatus.EXPIRED);
-            bookingRepository.save(booking);
-            
-            createOutboxMessage("BOOKING_EXPIRED", booking);
         }
+        if (expiredIds.isEmpty()) {
+            return;
+        }
+        
+        // One fetch for the whole tick instead of one per booking; the release is aggregated like the sweeper's
+        List<Booking> expiredBookings = bookingRepository.findAllWithDetailsByIdIn(expiredIds);
+        InventoryDelta delta = new InventoryDelta();
+        for (Booking booking : expiredBookings) {
+            booking.getItems().forEach(item ->
+                    delta.add(booking.getEvent().getId(), item.getTicketType().getId(), item.getQuantity()));
+        }
+        reservationStrategy.release(delta);
+        seatAllocator.release(expiredIds);
+        
+        expiredBookings.forEach(booking -> createOutboxMessage("BOOKING_EXPIRED", booking));
     }
 
     private void validateEventForBooking(Event event) {
@@ -227,22 +372,29 @@ public class BookingService {
             throw new BusinessException("Event has already started");
         }
         
-        if (event.getAvailableSeats() <= 0) {
+        if (reservationStrategy.availableSeats(event) <= 0) {
             throw new BusinessException("No seats available for this event");
         }
     }
 
+    private static Map<UUID, Integer> quantities(BookingCreateRequest request) {
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        for (BookingCreateRequest.BookingItemRequest itemRequest : request.getItems()) {
+            quantities.merge(itemRequest.getTicketTypeId(), itemRequest.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
     private String generateBookingNumber() {
-        return "BK-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        return "BK-" + idGenerator.nextId();
     }
 
-    @SneakyThrows
     private void createOutboxMessage(String eventType, Booking booking) {
         OutboxMessage outboxMessage = OutboxMessage.builder()
                 .aggregateType("BOOKING")  // This determines it will go to "bookings" topic
                 .aggregateId(booking.getId().toString())
                 .eventType(eventType)      // BOOKING_CREATED, BOOKING_CONFIRMED, BOOKING_CANCELLED, BOOKING_EXPIRED
-                .payload(objectMapper.writeValueAsString(booking))
+                .payload(bookingPayloadCodec.encode(BookingPayload.from(booking)))
                 .status(OutboxStatus.CREATED)
                 .build();
         
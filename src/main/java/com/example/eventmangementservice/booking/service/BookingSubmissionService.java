@@ -0,0 +1,162 @@
+package com.example.eventmangementservice.booking.service;
+
+import com.example.eventmangementservice.booking.dto.BookingCreateRequest;
+import com.example.eventmangementservice.booking.dto.BookingSubmissionResponse;
+import com.example.eventmangementservice.booking.model.BookingSubmission;
+import com.example.eventmangementservice.booking.model.BookingSubmissionStatus;
+import com.example.eventmangementservice.booking.repository.BookingSubmissionRepository;
+import com.example.eventmangementservice.booking.sequencer.BookingSequencer;
+import com.example.eventmangementservice.common.exception.BusinessException;
+import com.example.eventmangementservice.common.exception.ResourceNotFoundException;
+import com.example.eventmangementservice.common.idempotency.Idempotent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Accepts booking requests without holding a request thread or connection for the booking transaction.
+ * The request is stored as a QUEUED submission and handed to the sequencer lanes, which commit it in a
+ * group batch and flip the submission to COMPLETED in the same transaction. Each QUEUED submission carries a
+ * lease held by the instance that dispatched it; submissions whose lease ran out, because that instance went
+ * away, are claimed with SKIP LOCKED at startup and periodically afterwards, so only one instance resumes each.
+ * A claim of a submission still waiting in this instance's lanes only extends its lease; it is not queued twice.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookingSubmissionService {
+
+    // Matches the varchar(255) error column; exception messages can be far longer
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private static final String CLAIM_EXPIRED =
+            "UPDATE booking_submissions SET claimed_until = LOCALTIMESTAMP + make_interval(secs => ?) " +
+            "WHERE id IN (SELECT id FROM booking_submissions WHERE status = 'QUEUED' " +
+            "AND (claimed_until IS NULL OR claimed_until <= LOCALTIMESTAMP) " +
+            "ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, user_id, request";
+
+    private final BookingSubmissionRepository submissionRepository;
+    private final BookingSequencer bookingSequencer;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    // Submissions handed to the sequencer and not finished yet
+    private final Set<UUID> dispatched = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.booking.submissions.lease-seconds:300}")
+    private int leaseSeconds;
+
+    @Value("${app.booking.submissions.resume-batch-size:500}")
+    private int resumeBatchSize;
+
+    @Idempotent(scope = "booking-submission")
+    @SneakyThrows
+    public BookingSubmissionResponse submit(BookingCreateRequest request, String userId) {
+        BookingSubmission submission = new BookingSubmission();
+        submission.setUserId(userId);
+        submission.setEventId(request.getEventId());
+        submission.setRequest(objectMapper.writeValueAsString(request));
+        submission.setStatus(BookingSubmissionStatus.QUEUED);
+        submission.setClaimedUntil(LocalDateTime.now().plusSeconds(leaseSeconds));
+
+        BookingSubmission savedSubmission = submissionRepository.save(submission);
+        dispatch(savedSubmission.getId(), request, userId);
+
+        return mapToSubmissionResponse(savedSubmission);
+    }
+
+    @Transactional(readOnly = true)
+    public BookingSubmissionResponse getSubmission(UUID id, String userId) {
+        BookingSubmission submission = submissionRepository.findById(id)
+                .orElseThrow(() -> ResourceNotFoundException.of("BookingSubmission", "id", id));
+
+        if (!submission.getUserId().equals(userId)) {
+            throw new BusinessException("You don't have permission to view this booking submission");
+        }
+
+        return mapToSubmissionResponse(submission);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.booking.submissions.resume-interval-ms:60000}",
+            initialDelayString = "${app.booking.submissions.resume-interval-ms:60000}")
+    public void resumeQueuedSubmissions() {
+        int resumed = 0;
+        List<BookingSubmission> claimed;
+        do {
+            claimed = claimExpired();
+            for (BookingSubmission submission : claimed) {
+                try {
+                    BookingCreateRequest request = objectMapper.readValue(submission.getRequest(), BookingCreateRequest.class);
+                    dispatch(submission.getId(), request, submission.getUserId());
+                } catch (Exception e) {
+                    log.error("Unable to resume booking submission {}", submission.getId(), e);
+                    submissionRepository.markRejected(submission.getId(), "Booking request could not be resumed", LocalDateTime.now());
+                }
+            }
+            resumed += claimed.size();
+        } while (claimed.size() == resumeBatchSize);
+
+        if (resumed > 0) {
+            log.info("Resumed {} queued booking submissions", resumed);
+        }
+    }
+
+    // Each claim commits on its own, so the lease is visible to other instances before the lanes pick the rows up
+    private List<BookingSubmission> claimExpired() {
+        return jdbcTemplate.query(CLAIM_EXPIRED, (rs, rowNum) -> {
+            BookingSubmission submission = new BookingSubmission();
+            submission.setId(rs.getObject("id", UUID.class));
+            submission.setUserId(rs.getString("user_id"));
+            submission.setRequest(rs.getString("request"));
+            return submission;
+        }, leaseSeconds, resumeBatchSize);
+    }
+
+    private void dispatch(UUID submissionId, BookingCreateRequest request, String userId) {
+        if (!dispatched.add(submissionId)) {
+            // Sat in a full lane past its lease; the claim that found it again has already renewed the lease
+            return;
+        }
+        bookingSequencer.submitQueued(submissionId, request, userId).whenComplete((booking, error) -> {
+            dispatched.remove(submissionId);
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                // A no-op when the submission already completed on another instance
+                submissionRepository.markRejected(submissionId, errorMessage(cause), LocalDateTime.now());
+            }
+        });
+    }
+
+    private static String errorMessage(Throwable cause) {
+        String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private BookingSubmissionResponse mapToSubmissionResponse(BookingSubmission submission) {
+        return BookingSubmissionResponse.builder()
+                .id(submission.getId())
+                .eventId(submission.getEventId())
+                .status(submission.getStatus())
+                .bookingId(submission.getBookingId())
+                .error(submission.getError())
+                .createdAt(submission.getCreatedAt())
+                .completedAt(submission.getCompletedAt())
+                .build();
+    }
+}
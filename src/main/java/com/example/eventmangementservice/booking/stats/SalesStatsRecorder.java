@@ -0,0 +1,118 @@
+package com.example.eventmangementservice.booking.stats;
+
+import com.example.eventmangementservice.booking.model.Booking;
+import com.example.eventmangementservice.booking.model.BookingItem;
+import com.example.eventmangementservice.booking.model.BookingStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Maintains ticket_sales_stats and event_sales_stats as signed upserts in the same transaction as the booking
+ * status change, so sold counts are single-row lookups instead of scans over booking history. Only moves into
+ * or out of CONFIRMED change the counters. A scheduled job rebuilds both tables from bookings to repair drift,
+ * and the first start against empty tables backfills them the same way.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalesStatsRecorder {
+
+    private static final String UPSERT_TICKET_STATS =
+            "INSERT INTO ticket_sales_stats (event_id, ticket_type_id, sold_tickets) VALUES (?, ?, ?) " +
+            "ON CONFLICT (event_id, ticket_type_id) DO UPDATE SET sold_tickets = ticket_sales_stats.sold_tickets + EXCLUDED.sold_tickets";
+    private static final String UPSERT_EVENT_STATS =
+            "INSERT INTO event_sales_stats (event_id, confirmed_bookings, sold_tickets) VALUES (?, ?, ?) " +
+            "ON CONFLICT (event_id) DO UPDATE SET confirmed_bookings = event_sales_stats.confirmed_bookings + EXCLUDED.confirmed_bookings, " +
+            "sold_tickets = event_sales_stats.sold_tickets + EXCLUDED.sold_tickets";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Call before the booking's status is changed to `to`
+    public void recordTransition(Booking booking, BookingStatus to) {
+        boolean wasSold = booking.getStatus() == BookingStatus.CONFIRMED;
+        boolean isSold = to == BookingStatus.CONFIRMED;
+        if (wasSold == isSold) {
+            return;
+        }
+
+        int sign = isSold ? 1 : -1;
+        UUID eventId = booking.getEvent().getId();
+        Map<UUID, Integer> quantities = new TreeMap<>();
+        for (BookingItem item : booking.getItems()) {
+            quantities.merge(item.getTicketType().getId(), item.getQuantity(), Integer::sum);
+        }
+
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        int tickets = 0;
+        for (Map.Entry<UUID, Integer> entry : quantities.entrySet()) {
+            args.add(new Object[]{eventId, entry.getKey(), sign * entry.getValue()});
+            tickets += entry.getValue();
+        }
+        jdbcTemplate.batchUpdate(UPSERT_TICKET_STATS, args);
+        jdbcTemplate.update(UPSERT_EVENT_STATS, eventId, sign, sign * tickets);
+    }
+
+    // Without this, bookings confirmed before the counters existed would stay uncounted until the nightly rebuild
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        try {
+            lockStats();
+            // Checked under the lock, so instances starting together don't rebuild one after the other
+            Boolean empty = jdbcTemplate.queryForObject(
+                    "SELECT NOT EXISTS (SELECT 1 FROM event_sales_stats) AND NOT EXISTS (SELECT 1 FROM ticket_sales_stats)",
+                    Boolean.class);
+            if (Boolean.TRUE.equals(empty)) {
+                log.info("Sales stats are empty, backfilling them from bookings");
+                rebuildLocked();
+            }
+        } catch (DataAccessException e) {
+            // Not worth failing startup over; the nightly rebuild fills the tables too
+            log.error("Could not backfill sales stats", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.booking.sales-stats.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public void rebuild() {
+        lockStats();
+        rebuildLocked();
+    }
+
+    // Writers block on the lock until the rebuild commits and then apply their deltas on top of it;
+    // writers that got in first have committed by the time the lock is granted, so nothing is counted twice
+    private void lockStats() {
+        jdbcTemplate.execute("LOCK TABLE ticket_sales_stats, event_sales_stats IN EXCLUSIVE MODE");
+    }
+
+    private void rebuildLocked() {
+        jdbcTemplate.update("DELETE FROM ticket_sales_stats");
+        int ticketRows = jdbcTemplate.update(
+                "INSERT INTO ticket_sales_stats (event_id, ticket_type_id, sold_tickets) " +
+                "SELECT b.event_id, bi.ticket_type_id, SUM(bi.quantity) FROM booking_items bi " +
+                "JOIN bookings b ON b.id = bi.booking_id WHERE b.status = 'CONFIRMED' " +
+                "GROUP BY b.event_id, bi.ticket_type_id");
+
+        jdbcTemplate.update("DELETE FROM event_sales_stats");
+        int eventRows = jdbcTemplate.update(
+                "INSERT INTO event_sales_stats (event_id, confirmed_bookings, sold_tickets) " +
+                "SELECT b.event_id, COUNT(DISTINCT b.id), SUM(bi.quantity) FROM bookings b " +
+                "JOIN booking_items bi ON bi.booking_id = b.id WHERE b.status = 'CONFIRMED' " +
+                "GROUP BY b.event_id");
+
+        log.info("Rebuilt sales stats: {} ticket type rows, {} event rows", ticketRows, eventRows);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.eventmangementservice.booking.waitingroom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+// Stateless HMAC-SHA256 tokens of the form base64url(payload).base64url(signature)
+@Component
+public class AdmissionTokenSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String PLACEHOLDER_SECRET = "change-me-waiting-room-secret";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    // Anyone who knows the key can mint admission tokens, so refuse to start without a real one
+    public AdmissionTokenSigner(@Value("${app.booking.waiting-room.secret:}") String secret) {
+        if (secret.isBlank() || secret.equals(PLACEHOLDER_SECRET)) {
+            throw new IllegalStateException("app.booking.waiting-room.secret (WAITING_ROOM_SECRET) must be set");
+        }
+        if (secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("app.booking.waiting-room.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String sign(String payload) {
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payloadBytes) + "." + encoder.encodeToString(macs.get().doFinal(payloadBytes));
+    }
+
+    // Returns the payload when the signature matches, otherwise null
+    public String verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int separator = token.indexOf('.');
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] payloadBytes = decoder.decode(token.substring(0, separator));
+            byte[] signature = decoder.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(macs.get().doFinal(payloadBytes), signature)) {
+                return null;
+            }
+            return new String(payloadBytes, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialise admission token signer", e);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.eventmangementservice.booking.waitingroom;
+
+import com.example.eventmangementservice.booking.dto.WaitingRoomResponse;
+import com.example.eventmangementservice.common.exception.BusinessException;
+import com.example.eventmangementservice.common.exception.TooManyRequestsException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-event virtual waiting room. Queue state is two counters per event (tickets handed out and tickets
+ * admitted); everything about an individual user lives in the signed token they hold, so polling a
+ * position is an HMAC check and two volatile reads. Tokens are only handed out while the room is active:
+ * an inactive room lets bookings through without one, so nobody can stock up on admissions just before
+ * the room fills. An admission token names its user and carries a random id that this instance counts
+ * uses of, so a leaked token is good for at most admission-max-uses bookings. Each admitted ticket gets
+ * one admission token, which polling hands back again rather than minting a fresh id with fresh uses.
+ *
+ * <p>The counters, admitted tickets and use counts live in this instance's memory. With more than one
+ * instance, the load balancer must route waiting-room and booking requests for an event to the same
+ * instance (for example by hashing the event id in the path), or each instance runs its own queue and
+ * counts its own uses.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitingRoomService {
+
+    private static final String QUEUE_TOKEN = "Q";
+    private static final String ADMISSION_TOKEN = "A";
+
+    private final AdmissionTokenSigner signer;
+    private final ConcurrentHashMap<UUID, EventQueue> queues = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AdmissionUses> admissionUses = new ConcurrentHashMap<>();
+
+    @Value("${app.booking.waiting-room.activation-threshold-per-second:200}")
+    private int activationThreshold;
+
+    @Value("${app.booking.waiting-room.admission-rate-per-second:50}")
+    private int admissionRatePerSecond;
+
+    @Value("${app.booking.waiting-room.admission-ttl-seconds:600}")
+    private long admissionTtlSeconds;
+
+    @Value("${app.booking.waiting-room.admission-max-uses:3}")
+    private int admissionMaxUses;
+
+    public void checkAdmission(UUID eventId, String userId, String admissionToken) {
+        EventQueue queue = queues.computeIfAbsent(eventId, id -> new EventQueue());
+        if (queue.attempts.incrementAndGet() > activationThreshold && !queue.active) {
+            queue.active = true;
+            log.info("Waiting room activated for event {}", eventId);
+        }
+
+        if (queue.active && !useAdmission(eventId, userId, admissionToken)) {
+            throw new TooManyRequestsException("This event is in high demand, please join the waiting room");
+        }
+    }
+
+    public WaitingRoomResponse join(UUID eventId, String userId) {
+        EventQueue queue = queues.computeIfAbsent(eventId, id -> new EventQueue());
+        if (!queue.active) {
+            return open(eventId);
+        }
+
+        long ticket = queue.issued.incrementAndGet();
+        String queueToken = signer.sign(String.join("|", QUEUE_TOKEN, eventId.toString(), userId, Long.toString(ticket)));
+        return position(eventId, userId, ticket, queueToken);
+    }
+
+    public WaitingRoomResponse getStatus(UUID eventId, String userId, String queueToken) {
+        String[] claims = parse(queueToken, QUEUE_TOKEN, 2);
+        if (claims == null || !claims[1].equals(eventId.toString()) || !claims[2].equals(userId)) {
+            throw new BusinessException("Invalid waiting room token");
+        }
+        return position(eventId, userId, Long.parseLong(claims[3]), queueToken);
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void admitNextWave() {
+        long now = Instant.now().getEpochSecond();
+        admissionUses.values().removeIf(uses -> uses.expiresAt() < now);
+
+        queues.forEach((eventId, queue) -> {
+            int attempts = queue.attempts.getAndSet(0);
+            if (queue.active) {
+                long issued = queue.issued.get();
+                long admitted = Math.min(issued, queue.admitted.get() + admissionRatePerSecond);
+                queue.admitted.set(admitted);
+
+                if (admitted >= issued && attempts <= activationThreshold) {
+                    queue.active = false;
+                    // Tickets handed out from here on are numbered past these, and an open room needs no token
+                    queue.admissionTokens.clear();
+                    log.info("Waiting room drained for event {}", eventId);
+                }
+            } else if (attempts == 0) {
+                queues.remove(eventId, queue);
+            }
+        });
+    }
+
+    private WaitingRoomResponse position(UUID eventId, String userId, long ticket, String queueToken) {
+        EventQueue queue = queues.get(eventId);
+        if (queue == null || !queue.active) {
+            return open(eventId);
+        }
+        if (ticket <= queue.admitted.get()) {
+            return admitted(eventId, userId, queue, ticket);
+        }
+        return WaitingRoomResponse.builder()
+                .eventId(eventId)
+                .admitted(false)
+                .position(ticket - queue.admitted.get())
+                .queueToken(queueToken)
+                .build();
+    }
+
+    // Nothing to queue for, and a token issued now would skip the queue if the room activated later
+    private WaitingRoomResponse open(UUID eventId) {
+        return WaitingRoomResponse.builder()
+                .eventId(eventId)
+                .admitted(true)
+                .position(0L)
+                .build();
+    }
+
+    // The queue token binds the ticket to its user, so the ticket alone keys the admission
+    private WaitingRoomResponse admitted(UUID eventId, String userId, EventQueue queue, long ticket) {
+        String admissionToken = queue.admissionTokens.computeIfAbsent(ticket, t -> {
+            long expiresAt = Instant.now().getEpochSecond() + admissionTtlSeconds;
+            return signer.sign(String.join("|", ADMISSION_TOKEN, eventId.toString(),
+                    UUID.randomUUID().toString(), userId, Long.toString(expiresAt)));
+        });
+        return WaitingRoomResponse.builder()
+                .eventId(eventId)
+                .admitted(true)
+                .position(0L)
+                .admissionToken(admissionToken)
+                .build();
+    }
+
+    // Checks the token and counts one use of it against its id
+    private boolean useAdmission(UUID eventId, String userId, String admissionToken) {
+        String[] claims = parse(admissionToken, ADMISSION_TOKEN, 3);
+        if (claims == null || !claims[1].equals(eventId.toString()) || !claims[3].equals(userId)) {
+            return false;
+        }
+        long expiresAt = Long.parseLong(claims[4]);
+        if (expiresAt < Instant.now().getEpochSecond()) {
+            return false;
+        }
+        AdmissionUses uses = admissionUses.computeIfAbsent(claims[2], id -> new AdmissionUses(expiresAt, new AtomicInteger()));
+        return uses.count().incrementAndGet() <= admissionMaxUses;
+    }
+
+    // Claims are type|fixed claims...|userId|last claim; the user id may itself contain the separator,
+    // so it is whatever sits between the leading claims and the last one
+    private String[] parse(String token, String type, int leadingClaims) {
+        String payload = signer.verify(token);
+        if (payload == null) {
+            return null;
+        }
+        String[] claims = new String[leadingClaims + 2];
+        int start = 0;
+        for (int i = 0; i < leadingClaims; i++) {
+            int end = payload.indexOf('|', start);
+            if (end < 0) {
+                return null;
+            }
+            claims[i] = payload.substring(start, end);
+            start = end + 1;
+        }
+        int last = payload.lastIndexOf('|');
+        if (last < start || !claims[0].equals(type)) {
+            return null;
+        }
+        claims[leadingClaims] = payload.substring(start, last);
+        claims[leadingClaims + 1] = payload.substring(last + 1);
+        return claims;
+    }
+
+    private record AdmissionUses(long expiresAt, AtomicInteger count) {
+    }
+
+    private static class EventQueue {
+        private final AtomicLong issued = new AtomicLong();
+        private final AtomicLong admitted = new AtomicLong();
+        private final AtomicInteger attempts = new AtomicInteger();
+        // Admission token per admitted ticket, kept until the room drains
+        private final ConcurrentHashMap<Long, String> admissionTokens = new ConcurrentHashMap<>();
+        private volatile boolean active;
+    }
+}
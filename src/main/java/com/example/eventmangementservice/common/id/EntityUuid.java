@@ -0,0 +1,15 @@
+package com.example.eventmangementservice.common.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// UUID primary key: random (v4) by default, time-ordered (v7) for entities annotated with @TimeOrderedId
+@IdGeneratorType(EntityUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface EntityUuid {
+}
@@ -0,0 +1,68 @@
+package com.example.eventmangementservice.common.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 64-bit time-ordered ids: 41 bits of milliseconds since 2024-01-01, 10 bits of node id and a 12 bit
+ * per-millisecond sequence. The last timestamp and sequence share one AtomicLong, so generation is a
+ * single CAS with no locking and no allocation. When the sequence runs out, or the clock steps back,
+ * the generator keeps counting from the last timestamp it issued, so ids never go backwards. Two instances
+ * sharing a node id issue colliding ids, so every instance must be given its own; startup fails without one.
+ */
+@Slf4j
+@Component
+public class SnowflakeIdGenerator {
+
+    private static final long EPOCH_MS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits;
+    private final AtomicLong state = new AtomicLong();
+
+    // A host-name hash collides across instances too often to guess one, so refuse to start without a real id
+    public SnowflakeIdGenerator(@Value("${app.id.node-id:}") String configuredNodeId) {
+        if (configuredNodeId.isBlank()) {
+            throw new IllegalStateException("app.id.node-id (NODE_ID) must be set to a node id unique to this instance");
+        }
+        long nodeId;
+        try {
+            nodeId = Long.parseLong(configuredNodeId.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("app.id.node-id must be a number, got " + configuredNodeId);
+        }
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalStateException("app.id.node-id must be between 0 and " + MAX_NODE_ID + ", got " + nodeId);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        log.info("Snowflake id generator using node id {}", nodeId);
+    }
+
+    public long nextId() {
+        while (true) {
+            long now = System.currentTimeMillis() - EPOCH_MS;
+            long last = state.get();
+            long lastTimestamp = last >>> SEQUENCE_BITS;
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if ((last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = last + 1;
+            } else {
+                next = (lastTimestamp + 1) << SEQUENCE_BITS;
+            }
+
+            if (state.compareAndSet(last, next)) {
+                return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+}
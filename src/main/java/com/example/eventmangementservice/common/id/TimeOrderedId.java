@@ -0,0 +1,14 @@
+package com.example.eventmangementservice.common.id;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Opts an entity into UUIDv7 keys so inserts append to the right edge of the primary key index
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface TimeOrderedId {
+}
@@ -0,0 +1,48 @@
+package com.example.eventmangementservice.common.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 version 7 UUIDs: 48 bits of Unix milliseconds, then a 12 bit counter in rand_a that keeps ids
+ * from one JVM strictly increasing within a millisecond, then 62 random bits. Randomness comes from
+ * ThreadLocalRandom rather than the shared SecureRandom behind UUID.randomUUID().
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    private static final AtomicLong state = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        long next;
+        while (true) {
+            long now = System.currentTimeMillis();
+            long last = state.get();
+            long lastTimestamp = last >>> COUNTER_BITS;
+
+            if (now > lastTimestamp) {
+                next = now << COUNTER_BITS;
+            } else if ((last & COUNTER_MASK) < COUNTER_MASK) {
+                next = last + 1;
+            } else {
+                next = (lastTimestamp + 1) << COUNTER_BITS;
+            }
+
+            if (state.compareAndSet(last, next)) {
+                break;
+            }
+        }
+
+        long timestamp = next >>> COUNTER_BITS;
+        long counter = next & COUNTER_MASK;
+        long mostSignificantBits = (timestamp << 16) | 0x7000L | counter;
+        long leastSignificantBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.eventmangementservice.common.idempotency;
+
+import com.example.eventmangementservice.common.exception.BusinessException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Handles the Idempotency-Key header around @Idempotent methods. Completed responses are kept in a bounded
+ * in-memory cache in front of the idempotency_keys table; a duplicate that arrives while the first call is
+ * still running on this instance waits for its result. Runs outside the method's transaction so a response
+ * is only recorded once the work has committed. Failed calls release the key so the client can retry.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class IdempotencyAspect {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, String> completed;
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${app.idempotency.in-progress-timeout-seconds:60}")
+    private long inProgressTimeoutSeconds;
+
+    @Value("${app.idempotency.wait-timeout-ms:30000}")
+    private long waitTimeoutMs;
+
+    public IdempotencyAspect(IdempotencyRecordRepository recordRepository, ObjectMapper objectMapper,
+                             @Value("${app.idempotency.cache-size:10000}") int cacheSize) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @Around("@annotation(idempotent)")
+    public Object around(ProceedingJoinPoint joinPoint, Idempotent idempotent) throws Throwable {
+        String key = currentKey();
+        if (key == null) {
+            return joinPoint.proceed();
+        }
+
+        String recordId = idempotent.scope() + "|" + currentUser() + "|" + key;
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        boolean async = CompletableFuture.class.isAssignableFrom(method.getReturnType());
+        JavaType responseType = responseType(method, async);
+
+        String cachedBody = completed.get(recordId);
+        if (cachedBody != null) {
+            return replay(cachedBody, responseType, async);
+        }
+
+        CompletableFuture<String> execution = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(recordId, execution);
+        if (running != null) {
+            return awaitRunning(running, responseType, async);
+        }
+
+        try {
+            String storedBody = claim(recordId);
+            if (storedBody != null) {
+                completed.put(recordId, storedBody);
+                inFlight.remove(recordId);
+                execution.complete(storedBody);
+                return replay(storedBody, responseType, async);
+            }
+        } catch (RuntimeException e) {
+            inFlight.remove(recordId);
+            execution.completeExceptionally(e);
+            throw e;
+        }
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            fail(recordId, execution, e);
+            throw e;
+        }
+
+        if (async) {
+            return ((CompletableFuture<?>) result).whenComplete((value, error) -> {
+                if (error != null) {
+                    fail(recordId, execution, error);
+                } else {
+                    succeed(recordId, execution, value);
+                }
+            });
+        }
+        succeed(recordId, execution, result);
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = recordRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    // Returns the stored response if another request already completed this key, null if this request now owns it
+    private String claim(String recordId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (recordRepository.claim(recordId, now, now.plusHours(ttlHours), now.minusSeconds(inProgressTimeoutSeconds)) == 1) {
+            return null;
+        }
+        return recordRepository.findById(recordId)
+                .filter(record -> record.getStatus() == IdempotencyStatus.COMPLETED)
+                .map(IdempotencyRecord::getResponseBody)
+                .orElseThrow(() -> new BusinessException("A request with this Idempotency-Key is still being processed, please retry shortly"));
+    }
+
+    private Object awaitRunning(CompletableFuture<String> running, JavaType responseType, boolean async) throws Throwable {
+        if (async) {
+            return running.thenApply(body -> deserialize(body, responseType));
+        }
+        try {
+            return deserialize(running.get(waitTimeoutMs, TimeUnit.MILLISECONDS), responseType);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            throw new BusinessException("A request with this Idempotency-Key is still being processed, please retry shortly");
+        }
+    }
+
+    private void succeed(String recordId, CompletableFuture<String> execution, Object value) {
+        String body = serialize(value);
+        try {
+            recordRepository.complete(recordId, body);
+        } catch (RuntimeException e) {
+            // The work has committed; an unrecorded key only means a later retry is no longer deduplicated
+            log.warn("Failed to record response for idempotency key {}: {}", recordId, e.getMessage());
+        }
+        completed.put(recordId, body);
+        inFlight.remove(recordId);
+        execution.complete(body);
+    }
+
+    private void fail(String recordId, CompletableFuture<String> execution, Throwable error) {
+        try {
+            recordRepository.release(recordId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release idempotency key {}: {}", recordId, e.getMessage());
+        }
+        inFlight.remove(recordId);
+        execution.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error);
+    }
+
+    private Object replay(String body, JavaType responseType, boolean async) {
+        Object value = deserialize(body, responseType);
+        return async ? CompletableFuture.completedFuture(value) : value;
+    }
+
+    private JavaType responseType(Method method, boolean async) {
+        ResolvableType type = ResolvableType.forMethodReturnType(method);
+        return objectMapper.constructType((async ? type.getGeneric(0) : type).getType());
+    }
+
+    private String serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to store idempotent response", e);
+        }
+    }
+
+    private Object deserialize(String body, JavaType responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to replay idempotent response", e);
+        }
+    }
+
+    private String currentKey() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        String key = attributes.getRequest().getHeader(HEADER);
+        if (key == null || key.isBlank()) {
+            return null;
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        return key;
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.eventmangementservice.common.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Returns 1 when this caller owns the key: it was free, expired, or abandoned mid-flight by a crashed instance
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (id, status, created_at, expires_at) " +
+            "VALUES (:id, 'IN_PROGRESS', :now, :expiresAt) " +
+            "ON CONFLICT (id) DO UPDATE SET status = 'IN_PROGRESS', response_body = NULL, " +
+            "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+            "WHERE idempotency_keys.expires_at < :now " +
+            "OR (idempotency_keys.status = 'IN_PROGRESS' AND idempotency_keys.created_at < :staleBefore)",
+            nativeQuery = true)
+    int claim(String id, LocalDateTime now, LocalDateTime expiresAt, LocalDateTime staleBefore);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = 'COMPLETED', r.responseBody = :responseBody WHERE r.id = :id")
+    void complete(String id, String responseBody);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.status = 'IN_PROGRESS'")
+    void release(String id);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
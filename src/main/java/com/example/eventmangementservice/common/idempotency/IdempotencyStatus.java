@@ -0,0 +1,6 @@
+package com.example.eventmangementservice.common.idempotency;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,15 @@
+package com.example.eventmangementservice.common.idempotency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Replays the stored result for a repeated Idempotency-Key header instead of running the method again
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Idempotent {
+
+    // Methods sharing a scope share keys, e.g. the synchronous and sequenced booking paths
+    String scope();
+}
@@ -1,5 +1,6 @@
 package com.example.eventmangementservice.common.model;
 
+import com.example.eventmangementservice.common.id.EntityUuid;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.springframework.data.annotation.CreatedBy;
@@ -17,7 +18,7 @@ import java.util.UUID;
 public abstract class BaseEntity {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @EntityUuid
     private UUID id;
     
     @CreatedDate
@@ -0,0 +1,48 @@
+package com.example.eventmangementservice.common.outbox;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// An outbox message that used up its delivery attempts; replaying it moves it back into outbox_messages
+@Entity
+@Table(name = "outbox_dead_letters", indexes = {
+        @Index(name = "idx_outbox_dead_letters_dead_lettered", columnList = "deadLetteredAt"),
+        @Index(name = "idx_outbox_dead_letters_aggregate", columnList = "aggregateId, createdAt, id")
+})
+@Data
+@NoArgsConstructor
+public class OutboxDeadLetter {
+
+    // The id the message had in outbox_messages
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private String aggregateId;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(columnDefinition = "bytea", nullable = false)
+    @ToString.Exclude
+    private byte[] payload;
+
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime deadLetteredAt;
+}
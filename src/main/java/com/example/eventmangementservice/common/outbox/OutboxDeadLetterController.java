@@ -0,0 +1,39 @@
+package com.example.eventmangementservice.common.outbox;
+
+import com.example.eventmangementservice.common.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/admin/outbox/dead-letters")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class OutboxDeadLetterController {
+
+    private final OutboxDeadLetterService deadLetterService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<Page<OutboxDeadLetterResponse>>> getDeadLetters(Pageable pageable) {
+        Page<OutboxDeadLetterResponse> deadLetters = deadLetterService.getDeadLetters(pageable);
+        return ResponseEntity.ok(ApiResponse.success(deadLetters));
+    }
+
+    @PostMapping("/{id}/replay")
+    public ResponseEntity<ApiResponse<Void>> replay(@PathVariable UUID id) {
+        deadLetterService.replay(id);
+        return ResponseEntity.ok(ApiResponse.success("Outbox message queued for delivery", null));
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<ApiResponse<Integer>> replayAll(@RequestBody List<UUID> ids) {
+        int replayed = deadLetterService.replayAll(ids);
+        return ResponseEntity.ok(ApiResponse.success("Outbox messages queued for delivery", replayed));
+    }
+}
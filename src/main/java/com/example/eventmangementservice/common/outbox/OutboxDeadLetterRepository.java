@@ -0,0 +1,43 @@
+package com.example.eventmangementservice.common.outbox;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public interface OutboxDeadLetterRepository extends JpaRepository<OutboxDeadLetter, UUID> {
+
+    Page<OutboxDeadLetter> findAllByOrderByDeadLetteredAtDesc(Pageable pageable);
+
+    // Moves the messages back to the outbox as new, with a fresh attempt budget. The relay sends an aggregate's
+    // rows in (created_at, id) order and only claims rows inside its window, while the rows parked behind a dead
+    // letter may be older than that. So every undelivered message of the replayed aggregates, waiting or still
+    // dead-lettered, is restamped a microsecond apart from now on in its existing order: the replayed ones keep
+    // their place, and whatever waited behind them becomes claimable again.
+    @Modifying
+    @Query(value = "WITH aggregates AS (SELECT DISTINCT aggregate_id FROM outbox_dead_letters WHERE id IN (:ids)), " +
+            "undelivered AS (" +
+            "SELECT id, aggregate_id, created_at, false AS dead FROM outbox_messages " +
+            "WHERE aggregate_id IN (SELECT aggregate_id FROM aggregates) AND status IN ('CREATED', 'PROCESSING') " +
+            "UNION ALL SELECT id, aggregate_id, created_at, true FROM outbox_dead_letters " +
+            "WHERE aggregate_id IN (SELECT aggregate_id FROM aggregates)), " +
+            "stamps AS (SELECT id, created_at, dead, LOCALTIMESTAMP + interval '1 microsecond' * " +
+            "ROW_NUMBER() OVER (PARTITION BY aggregate_id ORDER BY created_at, id) AS stamp FROM undelivered), " +
+            "waiting AS (UPDATE outbox_messages m SET created_at = s.stamp FROM stamps s " +
+            "WHERE NOT s.dead AND m.id = s.id AND m.created_at = s.created_at), " +
+            "parked AS (UPDATE outbox_dead_letters d SET created_at = s.stamp FROM stamps s " +
+            "WHERE s.dead AND d.id = s.id AND d.id NOT IN (:ids)), " +
+            "replayed AS (DELETE FROM outbox_dead_letters WHERE id IN (:ids) " +
+            "RETURNING id, aggregate_type, aggregate_id, event_type, payload) " +
+            "INSERT INTO outbox_messages (id, aggregate_type, aggregate_id, event_type, payload, created_at, " +
+            "processed, retry_count, status, next_attempt_at) " +
+            "SELECT r.id, r.aggregate_type, r.aggregate_id, r.event_type, r.payload, s.stamp, " +
+            "false, 0, 'CREATED', LOCALTIMESTAMP FROM replayed r JOIN stamps s ON s.id = r.id AND s.dead", nativeQuery = true)
+    int replay(Collection<UUID> ids);
+}
@@ -0,0 +1,26 @@
+package com.example.eventmangementservice.common.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxDeadLetterResponse {
+
+    private UUID id;
+    private String aggregateType;
+    private String aggregateId;
+    private String eventType;
+    private int payloadSize;
+    private Integer attempts;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime deadLetteredAt;
+}
@@ -0,0 +1,65 @@
+package com.example.eventmangementservice.common.outbox;
+
+import com.example.eventmangementservice.common.exception.BusinessException;
+import com.example.eventmangementservice.common.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxDeadLetterService {
+
+    private static final int MAX_REPLAY_BATCH = 1000;
+
+    private final OutboxDeadLetterRepository deadLetterRepository;
+
+    @Transactional(readOnly = true)
+    public Page<OutboxDeadLetterResponse> getDeadLetters(Pageable pageable) {
+        return deadLetterRepository.findAllByOrderByDeadLetteredAtDesc(pageable).map(this::mapToDeadLetterResponse);
+    }
+
+    @Transactional
+    public void replay(UUID id) {
+        if (deadLetterRepository.replay(List.of(id)) == 0) {
+            throw ResourceNotFoundException.of("OutboxDeadLetter", "id", id);
+        }
+        log.info("Replayed dead-lettered outbox message {}", id);
+    }
+
+    // Replays the given dead letters; ids that are not (or no longer) dead-lettered are skipped
+    @Transactional
+    public int replayAll(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        if (ids.size() > MAX_REPLAY_BATCH) {
+            throw new BusinessException("Cannot replay more than " + MAX_REPLAY_BATCH + " messages at once");
+        }
+        int replayed = deadLetterRepository.replay(ids);
+        log.info("Replayed {} dead-lettered outbox messages", replayed);
+        return replayed;
+    }
+
+    private OutboxDeadLetterResponse mapToDeadLetterResponse(OutboxDeadLetter deadLetter) {
+        return OutboxDeadLetterResponse.builder()
+                .id(deadLetter.getId())
+                .aggregateType(deadLetter.getAggregateType())
+                .aggregateId(deadLetter.getAggregateId())
+                .eventType(deadLetter.getEventType())
+                .payloadSize(deadLetter.getPayload().length)
+                .attempts(deadLetter.getAttempts())
+                .lastError(deadLetter.getLastError())
+                .createdAt(deadLetter.getCreatedAt())
+                .deadLetteredAt(deadLetter.getDeadLetteredAt())
+                .build();
+    }
+}
@@ -1,17 +1,26 @@
 package com.example.eventmangementservice.common.outbox;
 
+import com.example.eventmangementservice.common.id.EntityUuid;
+import com.example.eventmangementservice.common.id.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "outbox_messages")
+@Table(name = "outbox_messages", indexes = {
+        @Index(name = "idx_outbox_claim", columnList = "status, nextAttemptAt"),
+        // Partial (status <> 'PROCESSED') where OutboxPartitionManager creates it; Hibernate only adds it without
+        // partitioning, and skips it otherwise since the name already exists
+        @Index(name = "idx_outbox_aggregate_pending", columnList = "aggregateId, createdAt, id")
+})
+@TimeOrderedId
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,7 +28,7 @@ import java.util.UUID;
 public class OutboxMessage {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @EntityUuid
     private UUID id;
     
     @Column(nullable = false)
@@ -31,19 +40,32 @@ public class OutboxMessage {
     @Column(nullable = false)
     private String eventType;
     
-    @Column(columnDefinition = "text", nullable = false)
-    private String payload;
+    // Encoded by the aggregate's PayloadCodec; the first byte is the payload schema version
+    @Column(columnDefinition = "bytea", nullable = false)
+    @ToString.Exclude
+    private byte[] payload;
     
     @CreationTimestamp
     private LocalDateTime createdAt;
     
     @Column(nullable = false)
+    @Builder.Default
     private boolean processed = false;
     
     private LocalDateTime processedAt;
     
+    @Builder.Default
     private Integer retryCount = 0;
     
     @Enumerated(EnumType.STRING)
+    @Builder.Default
     private OutboxStatus status = OutboxStatus.CREATED;
+
+    // When a relay may next claim the row: at once for new rows, after the backoff for failed sends, and once
+    // the lease runs out for PROCESSING rows whose relay never settled them
+    @Builder.Default
+    private LocalDateTime nextAttemptAt = LocalDateTime.now();
+
+    @Column(length = 1000)
+    private String lastError;
 }
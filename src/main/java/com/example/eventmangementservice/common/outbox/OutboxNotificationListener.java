@@ -0,0 +1,126 @@
+package com.example.eventmangementservice.common.outbox;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wakes the outbox relay as soon as an insert into outbox_messages commits. A statement-level trigger calls
+ * pg_notify, and Postgres delivers the notification only on commit, folding repeats within one transaction.
+ * This class LISTENs on its own connection outside the pool. If that connection drops, the relay keeps
+ * running on its idle polling until the listener reconnects.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay.notify.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxNotificationListener {
+
+    static final String CHANNEL = "outbox_messages";
+
+    // One statement, serialized by an advisory lock so instances starting together don't race on the DDL.
+    // Creating a trigger locks outbox_messages against writes, so it only happens when the trigger is missing;
+    // replacing the function locks nothing and keeps its body current.
+    static final String INSTALL_TRIGGER = """
+            DO $$
+            BEGIN
+                PERFORM pg_advisory_xact_lock(hashtext('outbox_messages_notify'));
+                CREATE OR REPLACE FUNCTION outbox_messages_notify() RETURNS trigger LANGUAGE plpgsql AS $fn$
+                BEGIN
+                    PERFORM pg_notify('outbox_messages', '');
+                    RETURN NULL;
+                END
+                $fn$;
+                IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'outbox_messages_notify'
+                        AND tgrelid = 'outbox_messages'::regclass) THEN
+                    CREATE TRIGGER outbox_messages_notify AFTER INSERT ON outbox_messages
+                        FOR EACH STATEMENT EXECUTE FUNCTION outbox_messages_notify();
+                END IF;
+            END
+            $$""";
+
+    private static final int RECEIVE_TIMEOUT_MS = 1000;
+    private static final long MAX_RECONNECT_DELAY_MS = 30_000;
+
+    private final OutboxRelay outboxRelay;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+
+    @Value("${app.outbox.relay.notify.reconnect-delay-ms:1000}")
+    private long reconnectDelayMs;
+
+    private Thread listener;
+
+    public OutboxNotificationListener(OutboxRelay outboxRelay, JdbcTemplate jdbcTemplate,
+                                      DataSourceProperties dataSourceProperties) {
+        this.outboxRelay = outboxRelay;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            jdbcTemplate.execute(INSTALL_TRIGGER);
+        } catch (RuntimeException e) {
+            log.warn("Could not install the outbox notify trigger, the relay will rely on polling: {}", e.getMessage());
+            return;
+        }
+
+        listener = new Thread(this::listen, "outbox-notify");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listen() {
+        long delayMs = reconnectDelayMs;
+        while (!Thread.currentThread().isInterrupted()) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for outbox inserts on channel {}", CHANNEL);
+                delayMs = reconnectDelayMs;
+
+                // Rows may have been inserted while nobody was listening
+                outboxRelay.wake();
+
+                while (!Thread.currentThread().isInterrupted()) {
+                    PGNotification[] notifications = pgConnection.getNotifications(RECEIVE_TIMEOUT_MS);
+                    if (notifications != null && notifications.length > 0) {
+                        outboxRelay.wake();
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("Outbox notification connection lost, reconnecting in {} ms: {}", delayMs, e.getMessage());
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                delayMs = Math.min(delayMs * 2, MAX_RECONNECT_DELAY_MS);
+            }
+        }
+    }
+}
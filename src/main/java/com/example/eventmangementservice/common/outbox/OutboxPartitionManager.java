@@ -0,0 +1,329 @@
+package com.example.eventmangementservice.common.outbox;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps outbox_messages as a table range-partitioned by day on created_at. The table is created before
+ * Hibernate's schema update runs, since Hibernate can't declare partitioning. Partitions are created a few days
+ * ahead, with a DEFAULT partition behind them so inserts never fail if maintenance stops; the
+ * outbox.partitions.days_ahead gauge and an error log flag a look-ahead that is running out. All DDL runs under
+ * the advisory lock OutboxNotificationListener takes for its trigger, so instances never race on the table.
+ * Rows that did land in the DEFAULT partition are moved into daily partitions of their own by the next
+ * maintenance run, so the DEFAULT partition only ever holds rows briefly. Rows that outlive the relay's claim
+ * window would never be claimed again, so they are moved to outbox_dead_letters, except those parked behind a
+ * dead letter of their aggregate: they wait for its replay, which brings them back into the window.
+ * Partitions past retention are detached and dropped instead of deleting rows, optionally
+ * exported to a gzipped CSV first; a partition that still holds claimable rows is kept until they are delivered.
+ * A pre-existing unpartitioned outbox_messages is left alone, and retention is skipped for it.
+ */
+@Slf4j
+@Component
+public class OutboxPartitionManager {
+
+    private static final String PARENT = "outbox_messages";
+    private static final String PARTITION_PREFIX = PARENT + "_p";
+    private static final String DEFAULT_PARTITION = PARENT + "_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    // Mirrors OutboxMessage; the primary key has to include the partition key
+    private static final String CREATE_PARENT = """
+            CREATE TABLE IF NOT EXISTS outbox_messages (
+                id uuid NOT NULL,
+                aggregate_type varchar(255) NOT NULL,
+                aggregate_id varchar(255) NOT NULL,
+                event_type varchar(255) NOT NULL,
+                payload bytea NOT NULL,
+                created_at timestamp(6) NOT NULL,
+                processed boolean NOT NULL,
+                processed_at timestamp(6),
+                retry_count integer,
+                status varchar(255),
+                next_attempt_at timestamp(6),
+                last_error varchar(1000),
+                PRIMARY KEY (id, created_at)
+            ) PARTITION BY RANGE (created_at)""";
+    private static final String CREATE_CLAIM_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_outbox_claim ON outbox_messages (status, next_attempt_at)";
+    // Only the relay's ordering look-back reads by aggregate, and it only looks for undelivered rows
+    private static final String CREATE_AGGREGATE_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_outbox_aggregate_pending ON outbox_messages (aggregate_id, created_at, id) " +
+            "WHERE status <> 'PROCESSED'";
+    private static final String DROP_OLD_AGGREGATE_INDEX = "DROP INDEX IF EXISTS idx_outbox_aggregate";
+    private static final String CREATE_DEFAULT_PARTITION =
+            "CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF " + PARENT + " DEFAULT";
+    // Same key as OutboxNotificationListener.INSTALL_TRIGGER; session-level, since this runs outside a transaction
+    private static final String DDL_LOCK = "SELECT pg_advisory_lock(hashtext('outbox_messages_notify'))";
+    private static final String DDL_UNLOCK = "SELECT pg_advisory_unlock(hashtext('outbox_messages_notify'))";
+    // Leaves rows whose lease is still running to the relay that holds them, and rows parked behind a dead letter
+    private static final String DEAD_LETTER_UNCLAIMABLE =
+            "WITH dead AS (DELETE FROM outbox_messages m WHERE status IN ('CREATED', 'PROCESSING') " +
+            "AND created_at < LOCALTIMESTAMP - make_interval(days => ?) " +
+            "AND NOT (status = 'PROCESSING' AND next_attempt_at > LOCALTIMESTAMP) " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_dead_letters d WHERE d.aggregate_id = m.aggregate_id " +
+            "AND (d.created_at, d.id) < (m.created_at, m.id)) " +
+            "RETURNING id, aggregate_type, aggregate_id, event_type, payload, created_at, retry_count) " +
+            "INSERT INTO outbox_dead_letters (id, aggregate_type, aggregate_id, event_type, payload, created_at, " +
+            "attempts, last_error, dead_lettered_at) " +
+            "SELECT id, aggregate_type, aggregate_id, event_type, payload, created_at, retry_count, ?, LOCALTIMESTAMP " +
+            "FROM dead";
+    private static final String DEFAULT_PARTITION_DAYS =
+            "SELECT DISTINCT CAST(created_at AS date) FROM " + DEFAULT_PARTITION + " ORDER BY 1";
+    private static final int MIN_DAYS_AHEAD = 2;
+    private static final String LIST_PARTITIONS =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'outbox_messages'::regclass ORDER BY c.relname";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicInteger remainingDaysAhead = new AtomicInteger();
+
+    @Value("${app.outbox.partitions.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.partitions.days-ahead:7}")
+    private int daysAhead;
+
+    @Value("${app.outbox.partitions.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${app.outbox.partitions.archive-dir:}")
+    private String archiveDir;
+
+    @Value("${app.outbox.relay.window-days:2}")
+    private int claimWindowDays;
+
+    private volatile boolean partitioned;
+
+    public OutboxPartitionManager(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        Gauge.builder("outbox.partitions.days_ahead", remainingDaysAhead, AtomicInteger::get)
+                .description("Days of outbox partitions that exist ahead of today")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void createSchema() {
+        if (!enabled) {
+            return;
+        }
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            log.info("Outbox partitioning needs PostgreSQL, running on {} without it", product);
+            return;
+        }
+
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT COALESCE((SELECT relkind::text FROM pg_class WHERE oid = to_regclass('outbox_messages')), '')",
+                String.class);
+        if ("r".equals(kind)) {
+            log.warn("outbox_messages exists as an unpartitioned table; migrate it to enable partition retention");
+            return;
+        }
+
+        underDdlLock(ddl -> {
+            ddl.execute(CREATE_PARENT);
+            ddl.execute(CREATE_CLAIM_INDEX);
+            ddl.execute(DROP_OLD_AGGREGATE_INDEX);
+            ddl.execute(CREATE_AGGREGATE_INDEX);
+            ddl.execute(CREATE_DEFAULT_PARTITION);
+        });
+        partitioned = true;
+        drainDefaultPartition();
+        createPartitions();
+    }
+
+    @Scheduled(cron = "${app.outbox.partitions.maintenance-cron:0 15 * * * *}")
+    public void maintain() {
+        if (!partitioned) {
+            return;
+        }
+        drainDefaultPartition();
+        createPartitions();
+        deadLetterUnclaimable();
+        dropExpiredPartitions();
+    }
+
+    // Yesterday through days-ahead, so a clock slightly behind the database's never misses a partition. A day
+    // whose rows landed in the DEFAULT partition since the last drain can't be created; it is logged and the rest
+    // go ahead.
+    private void createPartitions() {
+        LocalDate today = LocalDate.now();
+        underDdlLock(ddl -> {
+            for (LocalDate day = today.minusDays(1); !day.isAfter(today.plusDays(daysAhead)); day = day.plusDays(1)) {
+                try {
+                    ddl.execute("CREATE TABLE IF NOT EXISTS " + partitionName(day) + " PARTITION OF " + PARENT +
+                            " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+                } catch (RuntimeException e) {
+                    log.error("Failed to create outbox partition for {}: {}", day, e.getMessage());
+                }
+            }
+        });
+
+        LocalDate lastDay = jdbcTemplate.queryForList(LIST_PARTITIONS, String.class).stream()
+                .map(OutboxPartitionManager::partitionDay)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(today.minusDays(1));
+        int ahead = (int) ChronoUnit.DAYS.between(today, lastDay);
+        remainingDaysAhead.set(ahead);
+        if (ahead < MIN_DAYS_AHEAD) {
+            log.error("Outbox partitions only reach {} ({} days ahead); new rows will fall into the DEFAULT partition",
+                    lastDay, ahead);
+        }
+    }
+
+    // A day can't get its own partition while the DEFAULT partition holds rows for it, so the DEFAULT partition is
+    // detached, partitions are created for the days it holds, and its rows are inserted again through the parent.
+    // It all runs in one transaction, which blocks outbox writes for as long as the copy takes; that only happens
+    // after partition maintenance has fallen behind.
+    private void drainDefaultPartition() {
+        Boolean hasRows = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + ")", Boolean.class);
+        if (!Boolean.TRUE.equals(hasRows)) {
+            return;
+        }
+        try {
+            underDdlLock(ddl -> new TransactionTemplate(new DataSourceTransactionManager(ddl.getDataSource()))
+                    .executeWithoutResult(status -> {
+                        ddl.execute("ALTER TABLE " + PARENT + " DETACH PARTITION " + DEFAULT_PARTITION);
+                        List<LocalDate> days = ddl.queryForList(DEFAULT_PARTITION_DAYS, LocalDate.class);
+                        for (LocalDate day : days) {
+                            ddl.execute("CREATE TABLE IF NOT EXISTS " + partitionName(day) + " PARTITION OF " + PARENT +
+                                    " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+                        }
+                        int moved = ddl.update("INSERT INTO " + PARENT + " SELECT * FROM " + DEFAULT_PARTITION);
+                        ddl.execute("DROP TABLE " + DEFAULT_PARTITION);
+                        ddl.execute(CREATE_DEFAULT_PARTITION);
+                        log.warn("Moved {} outbox messages from the DEFAULT partition into partitions for {}", moved, days);
+                    }));
+        } catch (RuntimeException e) {
+            log.error("Failed to move outbox messages out of the DEFAULT partition", e);
+        }
+    }
+
+    // The relay never claims rows older than its window, so they would otherwise sit in the outbox for good
+    private void deadLetterUnclaimable() {
+        int moved = jdbcTemplate.update(DEAD_LETTER_UNCLAIMABLE, claimWindowDays,
+                "Not delivered within the " + claimWindowDays + "-day claim window");
+        if (moved > 0) {
+            log.warn("Moved {} outbox messages older than the {}-day claim window to the dead letters", moved, claimWindowDays);
+        }
+    }
+
+    private void dropExpiredPartitions() {
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        List<String> partitions = jdbcTemplate.queryForList(LIST_PARTITIONS, String.class);
+
+        for (String partition : partitions) {
+            LocalDate day = partitionDay(partition);
+            if (day == null || !day.isBefore(cutoff)) {
+                continue;
+            }
+
+            Boolean undelivered = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + partition +
+                    " WHERE status IN ('CREATED', 'PROCESSING'))", Boolean.class);
+            if (Boolean.TRUE.equals(undelivered)) {
+                log.warn("Keeping outbox partition {} past retention, it still has undelivered messages", partition);
+                continue;
+            }
+
+            try {
+                if (StringUtils.hasText(archiveDir)) {
+                    archive(partition);
+                }
+                // Detaching first takes the partition out of every outbox query before the drop
+                underDdlLock(ddl -> {
+                    ddl.execute("ALTER TABLE " + PARENT + " DETACH PARTITION " + partition);
+                    ddl.execute("DROP TABLE " + partition);
+                });
+                log.info("Dropped outbox partition {}", partition);
+            } catch (RuntimeException e) {
+                log.error("Failed to retire outbox partition {}", partition, e);
+            }
+        }
+    }
+
+    // The lock is held by a session, so the DDL runs through a template bound to the locking connection
+    private void underDdlLock(Consumer<JdbcTemplate> ddl) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            JdbcTemplate locked = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            locked.execute(DDL_LOCK);
+            try {
+                ddl.accept(locked);
+            } finally {
+                locked.execute(DDL_UNLOCK);
+            }
+            return null;
+        });
+    }
+
+    private void archive(String partition) {
+        Path target = Paths.get(archiveDir, partition + ".csv.gz");
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                Files.createDirectories(target.getParent());
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(target))) {
+                    return connection.unwrap(PGConnection.class).getCopyAPI()
+                            .copyOut("COPY " + partition + " TO STDOUT WITH (FORMAT csv, HEADER)", out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not archive " + partition + " to " + target, e);
+            }
+        });
+        log.info("Archived outbox partition {} to {}", partition, target);
+    }
+
+    private static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+    }
+
+    private static LocalDate partitionDay(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // The table has to exist, partitioned, before Hibernate's schema update looks at it
+    @Component
+    static class EntityManagerFactoryDependsOnOutboxPartitions extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnOutboxPartitions() {
+            super(OutboxPartitionManager.class);
+        }
+    }
+}
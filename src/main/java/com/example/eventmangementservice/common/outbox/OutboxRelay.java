@@ -0,0 +1,445 @@
+package com.example.eventmangementservice.common.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes outbox_messages to Kafka. A single claimer takes batches with FOR UPDATE SKIP LOCKED and stamps
+ * them PROCESSING with a lease, so relays on other instances skip them; a relay that dies leaves the lease to
+ * run out and the rows are claimed again. A claim takes rows in aggregate order and skips any row with an
+ * earlier row of its aggregate still in flight from a previous claim, backing off, or in outbox_dead_letters.
+ * Replaying a dead letter restamps its aggregate's messages in order, so it goes out first again. Claimed
+ * messages are hashed by aggregate id onto dispatch lanes, which send concurrently so one slow send only holds
+ * up its own lane. Within a lane, an aggregate's messages are sent one after another: the next goes out once
+ * the previous is acknowledged, and when one fails the ones behind it are handed back unsent, to be claimed
+ * after it. Other aggregates keep pipelining meanwhile. Sends are bounded by max-in-flight, and completed
+ * sends are settled in set-based UPDATEs. A failed send is rescheduled with jittered exponential backoff, out
+ * of the way of healthy rows in the claim index, and moved to outbox_dead_letters once it has used
+ * max-attempts. The idle claimer sleeps with a doubling delay and is woken early by {@link #wake()} when
+ * OutboxNotificationListener hears an insert. Claims only look at rows created within window-days, which
+ * keeps them on the newest partitions OutboxPartitionManager maintains.
+ *
+ * <p>With app.outbox.relay.transactional the lanes are skipped: each claimed batch is published in one Kafka
+ * transaction on an idempotent producer, so read_committed consumers see a batch in full or not at all, and a
+ * failed commit retries the whole batch. A crash between the commit and settling still republishes the batch;
+ * consumers can drop those repeats by the {@link #OUTBOX_ID_HEADER} header.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    public static final String EVENT_TYPE_HEADER = "eventType";
+    public static final String OUTBOX_ID_HEADER = "outboxId";
+
+    // Rows are claimed in (created_at, id) order, which is aggregate order. A row is held back while an earlier
+    // row of its aggregate is waiting out a lease or a backoff, or sits in outbox_dead_letters; an earlier row that
+    // is claimable itself sorts ahead of it and so lands in the same batch. The look-back stays inside the claim
+    // window, so every subquery is pruned to the newest partitions and served by idx_outbox_aggregate_pending.
+    private static final String CLAIM_BATCH =
+            "UPDATE outbox_messages SET status = 'PROCESSING', next_attempt_at = LOCALTIMESTAMP + make_interval(secs => ?) " +
+            "WHERE id IN (SELECT o.id FROM outbox_messages o WHERE o.status IN ('CREATED', 'PROCESSING') " +
+            "AND o.next_attempt_at <= LOCALTIMESTAMP AND o.created_at >= LOCALTIMESTAMP - make_interval(days => ?) " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_messages o2 WHERE o2.aggregate_id = o.aggregate_id " +
+            "AND o2.status <> 'PROCESSED' AND o2.status IN ('CREATED', 'PROCESSING') " +
+            "AND o2.created_at >= LOCALTIMESTAMP - make_interval(days => ?) " +
+            "AND (o2.created_at, o2.id) < (o.created_at, o.id) AND o2.next_attempt_at > LOCALTIMESTAMP) " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_dead_letters d WHERE d.aggregate_id = o.aggregate_id " +
+            "AND (d.created_at, d.id) < (o.created_at, o.id)) " +
+            "ORDER BY o.created_at, o.id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, aggregate_type, aggregate_id, event_type, payload, created_at";
+    // Claims from all instances take turns, so a row locked by another claim can't be skipped past by this one
+    private static final String CLAIM_LOCK = "SELECT pg_advisory_xact_lock(hashtext('outbox_messages_claim'))";
+
+    private final OutboxRepository outboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlight;
+    private final Queue<OutboxMessage> sent = new ConcurrentLinkedQueue<>();
+    private final Queue<FailedSend> failed = new ConcurrentLinkedQueue<>();
+    private final Queue<OutboxMessage> unsent = new ConcurrentLinkedQueue<>();
+    private final TransactionTemplate transactionTemplate;
+    private final Counter deadLetteredCounter;
+
+    @Value("${app.outbox.relay.lanes:8}")
+    private int laneCount;
+
+    @Value("${app.outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.relay.lease-seconds:30}")
+    private int leaseSeconds;
+
+    @Value("${app.outbox.relay.transactional:false}")
+    private boolean transactional;
+
+    @Value("${app.outbox.relay.window-days:2}")
+    private int windowDays;
+
+    @Value("${app.outbox.relay.min-poll-interval-ms:50}")
+    private long minPollIntervalMs;
+
+    @Value("${app.outbox.relay.max-poll-interval-ms:5000}")
+    private long maxPollIntervalMs;
+
+    @Value("${app.outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.relay.retry-base-delay-ms:1000}")
+    private long retryBaseDelayMs;
+
+    @Value("${app.outbox.relay.retry-max-delay-ms:300000}")
+    private long retryMaxDelayMs;
+
+    private Lane[] lanes;
+    private Timer transactionTimer;
+    private volatile Thread claimer;
+
+    public OutboxRelay(OutboxRepository outboxRepository, JdbcTemplate jdbcTemplate,
+                       KafkaTemplate<String, byte[]> kafkaTemplate, MeterRegistry meterRegistry,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.outbox.relay.max-in-flight:1000}") int maxInFlight) {
+        this.outboxRepository = outboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.deadLetteredCounter = Counter.builder("outbox.relay.dead_lettered")
+                .description("Outbox messages moved to outbox_dead_letters after their last failed attempt")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (transactional) {
+            lanes = new Lane[0];
+            transactionTimer = Timer.builder("outbox.relay.transaction")
+                    .description("Time to publish and commit one claimed outbox batch in a Kafka transaction")
+                    .register(meterRegistry);
+        } else {
+            lanes = new Lane[laneCount];
+            for (int i = 0; i < laneCount; i++) {
+                lanes[i] = new Lane(i);
+                lanes[i].start();
+            }
+        }
+
+        Thread thread = new Thread(this::run, "outbox-relay");
+        thread.setDaemon(true);
+        claimer = thread;
+        thread.start();
+        if (transactional) {
+            log.info("Started transactional outbox relay, batch size {}", batchSize);
+        } else {
+            log.info("Started outbox relay with {} lanes, batch size {}", laneCount, batchSize);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (claimer == null) {
+            return;
+        }
+        claimer.interrupt();
+        for (Lane lane : lanes) {
+            lane.interrupt();
+        }
+        // Whatever is still queued keeps its lease and is claimed again after a restart
+        settle();
+    }
+
+    // Cuts short the claimer's idle wait; a wake-up that arrives mid-batch is kept for the next wait
+    public void wake() {
+        Thread thread = claimer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void run() {
+        long idleDelayMs = minPollIntervalMs;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                settle();
+
+                // Only this thread acquires permits, so they can't drain between the check and the claim
+                int permits = Math.min(batchSize, inFlight.availablePermits());
+                if (permits == 0) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(minPollIntervalMs));
+                    continue;
+                }
+
+                // Keep claiming while batches come back full, otherwise back off until the next poll or wake-up
+                int claimed = dispatchBatch(permits);
+                if (claimed < permits) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(idleDelayMs));
+                    idleDelayMs = claimed == 0 ? Math.min(idleDelayMs * 2, maxPollIntervalMs) : minPollIntervalMs;
+                } else {
+                    idleDelayMs = minPollIntervalMs;
+                }
+            } catch (RuntimeException e) {
+                log.error("Outbox relay batch failed", e);
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(maxPollIntervalMs));
+            }
+        }
+    }
+
+    private int dispatchBatch(int limit) {
+        List<OutboxMessage> batch = claimBatch(limit);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        if (transactional) {
+            publishInTransaction(batch);
+            return batch.size();
+        }
+
+        inFlight.acquireUninterruptibly(batch.size());
+        for (OutboxMessage message : batch) {
+            lanes[Math.floorMod(message.getAggregateId().hashCode(), lanes.length)].dispatch(message);
+        }
+        return batch.size();
+    }
+
+    // The commit flushes the batch and fails if any send in it failed, so the outcome is known for all of it
+    private void publishInTransaction(List<OutboxMessage> batch) {
+        long start = System.nanoTime();
+        try {
+            kafkaTemplate.executeInTransaction(operations -> {
+                batch.forEach(message -> operations.send(toRecord(message)));
+                return null;
+            });
+            transactionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            sent.addAll(batch);
+        } catch (RuntimeException e) {
+            String error = describe(e);
+            log.error("Failed to publish a transaction of {} outbox messages: {}", batch.size(), error);
+            batch.forEach(message -> failed.add(new FailedSend(message.getId(), message.getCreatedAt(), error)));
+        }
+    }
+
+    // Settles completed sends: one UPDATE for the sent rows, and per distinct error one move to the dead letters
+    // for rows out of attempts plus one reschedule for the rest. Each statement is bounded by the oldest createdAt
+    // it touches, so Postgres only scans the outbox partitions that can hold those rows.
+    private void settle() {
+        List<OutboxMessage> sentMessages = drain(sent);
+        if (!sentMessages.isEmpty()) {
+            List<UUID> sentIds = sentMessages.stream().map(OutboxMessage::getId).toList();
+            LocalDateTime since = sentMessages.stream().map(OutboxMessage::getCreatedAt)
+                    .min(Comparator.naturalOrder()).orElseThrow();
+            outboxRepository.markProcessed(sentIds, since, LocalDateTime.now());
+        }
+
+        // Queued behind a failed send of their aggregate: they keep their attempt count and stay parked behind it
+        List<OutboxMessage> unsentMessages = drain(unsent);
+        if (!unsentMessages.isEmpty()) {
+            List<UUID> unsentIds = unsentMessages.stream().map(OutboxMessage::getId).toList();
+            LocalDateTime since = unsentMessages.stream().map(OutboxMessage::getCreatedAt)
+                    .min(Comparator.naturalOrder()).orElseThrow();
+            outboxRepository.release(unsentIds, since);
+        }
+
+        List<FailedSend> failures = drain(failed);
+        if (failures.isEmpty()) {
+            return;
+        }
+        Map<String, List<UUID>> idsByError = failures.stream().collect(Collectors.groupingBy(
+                FailedSend::error, Collectors.mapping(FailedSend::id, Collectors.toList())));
+        LocalDateTime since = failures.stream().map(FailedSend::createdAt).min(Comparator.naturalOrder()).orElseThrow();
+        Integer deadLettered = transactionTemplate.execute(status -> {
+            int moved = 0;
+            for (Map.Entry<String, List<UUID>> entry : idsByError.entrySet()) {
+                moved += outboxRepository.deadLetter(entry.getValue(), since, maxAttempts, entry.getKey());
+                outboxRepository.scheduleRetry(entry.getValue(), since, entry.getKey(), retryBaseDelayMs, retryMaxDelayMs);
+            }
+            return moved;
+        });
+        if (deadLettered != null && deadLettered > 0) {
+            deadLetteredCounter.increment(deadLettered);
+            log.warn("Moved {} outbox messages to the dead letters after {} attempts; later messages of the same " +
+                    "aggregates are parked until they are replayed", deadLettered, maxAttempts);
+        }
+    }
+
+    private static <T> List<T> drain(Queue<T> queue) {
+        List<T> items = new ArrayList<>();
+        T item;
+        while ((item = queue.poll()) != null) {
+            items.add(item);
+        }
+        return items;
+    }
+
+    private List<OutboxMessage> claimBatch(int limit) {
+        List<OutboxMessage> batch = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(CLAIM_LOCK);
+            return jdbcTemplate.query(CLAIM_BATCH, (rs, rowNum) -> OutboxMessage.builder()
+                    .id(rs.getObject("id", UUID.class))
+                    .aggregateType(rs.getString("aggregate_type"))
+                    .aggregateId(rs.getString("aggregate_id"))
+                    .eventType(rs.getString("event_type"))
+                    .payload(rs.getBytes("payload"))
+                    .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                    .build(), leaseSeconds, windowDays, windowDays, limit);
+        });
+
+        // RETURNING does not keep the subquery's order, so restore the claim order the lanes rely on
+        batch.sort(Comparator.comparing(OutboxMessage::getCreatedAt).thenComparing(OutboxMessage::getId));
+        return batch;
+    }
+
+    private ProducerRecord<String, byte[]> toRecord(OutboxMessage message) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(
+                topicFor(message.getAggregateType()), message.getAggregateId(), message.getPayload());
+        record.headers().add(new RecordHeader(EVENT_TYPE_HEADER, message.getEventType().getBytes(StandardCharsets.UTF_8)));
+        record.headers().add(new RecordHeader(OUTBOX_ID_HEADER, message.getId().toString().getBytes(StandardCharsets.UTF_8)));
+        return record;
+    }
+
+    private String topicFor(String aggregateType) {
+        return switch (aggregateType.toUpperCase()) {
+            case "EVENT" -> "events";
+            case "BOOKING" -> "bookings";
+            case "PAYMENT" -> "payments";
+            default -> "notifications";
+        };
+    }
+
+    private class Lane extends Thread {
+
+        private final BlockingQueue<Step> queue = new LinkedBlockingQueue<>();
+        // Touched by the lane thread only: per aggregate, the message being sent followed by those waiting on it
+        private final Map<String, ArrayDeque<OutboxMessage>> chains = new HashMap<>();
+        private final Timer sendTimer;
+
+        Lane(int index) {
+            super("outbox-relay-lane-" + index);
+            setDaemon(true);
+            String lane = String.valueOf(index);
+            Gauge.builder("outbox.relay.lane.queue", queue, BlockingQueue::size)
+                    .description("Claimed outbox messages and send results waiting for a dispatch lane")
+                    .tag("lane", lane)
+                    .register(meterRegistry);
+            this.sendTimer = Timer.builder("outbox.relay.send")
+                    .description("Time from handing an outbox message to the producer until the broker acknowledges it")
+                    .tag("lane", lane)
+                    .register(meterRegistry);
+        }
+
+        void dispatch(OutboxMessage message) {
+            queue.add(new Step(message, false, null));
+        }
+
+        @Override
+        public void run() {
+            while (!isInterrupted()) {
+                Step step;
+                try {
+                    step = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (step.completed()) {
+                    complete(step.message(), step.exception());
+                } else {
+                    enqueue(step.message());
+                }
+            }
+        }
+
+        private void enqueue(OutboxMessage message) {
+            ArrayDeque<OutboxMessage> chain = chains.computeIfAbsent(message.getAggregateId(), id -> new ArrayDeque<>());
+            chain.add(message);
+            if (chain.size() == 1) {
+                send(message);
+            }
+        }
+
+        // Sends of different aggregates are pipelined; the producer callback only reports back to the lane thread
+        private void send(OutboxMessage message) {
+            long start = System.nanoTime();
+            try {
+                kafkaTemplate.send(toRecord(message)).whenComplete((result, exception) -> {
+                    sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    queue.add(new Step(message, true, exception));
+                });
+            } catch (RuntimeException e) {
+                queue.add(new Step(message, true, e));
+            }
+        }
+
+        private void complete(OutboxMessage message, Throwable exception) {
+            ArrayDeque<OutboxMessage> chain = chains.get(message.getAggregateId());
+            chain.poll();
+            inFlight.release();
+            if (exception == null) {
+                sent.add(message);
+            } else {
+                String error = describe(exception);
+                log.error("Failed to publish outbox message {}: {}", message.getId(), error);
+                failed.add(new FailedSend(message.getId(), message.getCreatedAt(), error));
+                // Sending the rest now would put them ahead of the retry
+                OutboxMessage waiting;
+                while ((waiting = chain.poll()) != null) {
+                    inFlight.release();
+                    unsent.add(waiting);
+                }
+            }
+
+            if (chain.isEmpty()) {
+                chains.remove(message.getAggregateId());
+            } else {
+                send(chain.peek());
+            }
+        }
+    }
+
+    // Either a claimed message to send or the outcome of a send
+    private record Step(OutboxMessage message, boolean completed, Throwable exception) {
+    }
+
+    private static String describe(Throwable exception) {
+        Throwable cause = exception;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        String error = cause.getClass().getSimpleName() + (cause.getMessage() != null ? ": " + cause.getMessage() : "");
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    private record FailedSend(UUID id, LocalDateTime createdAt, String error) {
+    }
+}
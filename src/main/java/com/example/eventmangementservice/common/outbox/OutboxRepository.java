@@ -1,29 +1,49 @@
 package com.example.eventmangementservice.common.outbox;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Collection;
 import java.util.UUID;
 
 @Repository
 public interface OutboxRepository extends JpaRepository<OutboxMessage, UUID> {
-    
-    List<OutboxMessage> findByProcessedFalseAndStatusNotOrderByCreatedAt(OutboxStatus status);
-    
-    @Query("SELECT o FROM OutboxMessage o WHERE o.processed = false AND o.status <> 'FAILED' ORDER BY o.createdAt")
-    Page<OutboxMessage> findUnprocessedMessages(Pageable pageable);
-    
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage o SET o.processed = true, o.processedAt = :now, o.status = 'PROCESSED' WHERE o.id IN :ids " +
+            "AND o.createdAt >= :since")
+    int markProcessed(Collection<UUID> ids, LocalDateTime since, LocalDateTime now);
+
+    // Hands back claimed messages that were never sent, without using up an attempt
+    @Transactional
     @Modifying
-    @Query("UPDATE OutboxMessage o SET o.processed = true, o.processedAt = :now, o.status = 'PROCESSED' WHERE o.id = :id")
-    void markAsProcessed(UUID id, LocalDateTime now);
-    
+    @Query(value = "UPDATE outbox_messages SET status = 'CREATED', next_attempt_at = LOCALTIMESTAMP " +
+            "WHERE id IN (:ids) AND created_at >= :since AND status = 'PROCESSING'", nativeQuery = true)
+    int release(Collection<UUID> ids, LocalDateTime since);
+
+    // Moves messages whose failed send was their last allowed attempt to outbox_dead_letters
+    @Transactional
+    @Modifying
+    @Query(value = "WITH dead AS (DELETE FROM outbox_messages WHERE id IN (:ids) AND created_at >= :since " +
+            "AND retry_count + 1 >= :maxAttempts " +
+            "RETURNING id, aggregate_type, aggregate_id, event_type, payload, created_at, retry_count) " +
+            "INSERT INTO outbox_dead_letters (id, aggregate_type, aggregate_id, event_type, payload, created_at, " +
+            "attempts, last_error, dead_lettered_at) " +
+            "SELECT id, aggregate_type, aggregate_id, event_type, payload, created_at, retry_count + 1, :error, LOCALTIMESTAMP " +
+            "FROM dead", nativeQuery = true)
+    int deadLetter(Collection<UUID> ids, LocalDateTime since, int maxAttempts, String error);
+
+    // Exponential backoff from the attempt count, capped, with equal jitter so retries of one batch spread out
+    @Transactional
     @Modifying
-    @Query("UPDATE OutboxMessage o SET o.retryCount = o.retryCount + 1, o.status = :status WHERE o.id = :id")
-    void updateRetryCount(UUID id, OutboxStatus status);
+    @Query(value = "UPDATE outbox_messages SET retry_count = retry_count + 1, status = 'CREATED', last_error = :error, " +
+            "next_attempt_at = LOCALTIMESTAMP + make_interval(secs => " +
+            "LEAST(:maxDelayMs, :baseDelayMs * power(2, retry_count)) / 1000.0 * (0.5 + random() / 2)) " +
+            "WHERE id IN (:ids) AND created_at >= :since", nativeQuery = true)
+    int scheduleRetry(Collection<UUID> ids, LocalDateTime since, String error, long baseDelayMs, long maxDelayMs);
 }
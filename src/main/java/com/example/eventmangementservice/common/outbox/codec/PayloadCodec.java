@@ -0,0 +1,13 @@
+package com.example.eventmangementservice.common.outbox.codec;
+
+/**
+ * Binary encoding for one outbox payload type. The first byte of every encoded payload is its schema version;
+ * decoders accept every version they know and reject the rest, so producers can move to a new version once
+ * all consumers read it.
+ */
+public interface PayloadCodec<T> {
+
+    byte[] encode(T payload);
+
+    T decode(byte[] data);
+}
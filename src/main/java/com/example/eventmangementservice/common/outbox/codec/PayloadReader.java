@@ -0,0 +1,143 @@
+package com.example.eventmangementservice.common.outbox.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+// Reads fields written by PayloadWriter, in the same order; any malformed input fails with IllegalArgumentException
+public class PayloadReader {
+
+    private final byte[] data;
+    private int position;
+
+    public PayloadReader(byte[] data) {
+        if (data == null || data.length == 0) {
+            throw new IllegalArgumentException("Empty outbox payload");
+        }
+        this.data = data;
+    }
+
+    public int schemaVersion() {
+        return data[0] & 0xFF;
+    }
+
+    // Positions the reader after the version byte once the caller has checked the version
+    public PayloadReader expectVersion(String payloadType, int... supported) {
+        if (Arrays.stream(supported).noneMatch(version -> version == schemaVersion())) {
+            throw new IllegalArgumentException("Unsupported " + payloadType + " schema version " + schemaVersion());
+        }
+        position = 1;
+        return this;
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public int readInt() {
+        return toInt(readLong());
+    }
+
+    public long readLong() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public Integer readNullableInt() {
+        return readBoolean() ? readInt() : null;
+    }
+
+    public String readString() {
+        long length = readVarLong();
+        if (length == 0) {
+            return null;
+        }
+        int size = toInt(length - 1);
+        return new String(data, take(size), size, StandardCharsets.UTF_8);
+    }
+
+    public UUID readUuid() {
+        return readBoolean() ? new UUID(readFixedLong(), readFixedLong()) : null;
+    }
+
+    public BigDecimal readDecimal() {
+        if (!readBoolean()) {
+            return null;
+        }
+        int scale = readInt();
+        int size = toInt(readVarLong());
+        return new BigDecimal(new BigInteger(data, take(size), size), scale);
+    }
+
+    public LocalDateTime readDateTime() {
+        if (!readBoolean()) {
+            return null;
+        }
+        long epochSecond = readLong();
+        int nanos = readInt();
+        try {
+            return LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Out of range date-time in outbox payload", e);
+        }
+    }
+
+    public <E extends Enum<E>> E readEnum(Class<E> type) {
+        String name = readString();
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+
+    public int readCount() {
+        long count = readVarLong();
+        if (count < 0 || count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Malformed count in outbox payload");
+        }
+        return (int) count;
+    }
+
+    private int readByte() {
+        return data[take(1)] & 0xFF;
+    }
+
+    // Returns the offset of the next `size` bytes and moves past them
+    private int take(int size) {
+        if (size < 0 || size > data.length - position) {
+            throw new IllegalArgumentException("Truncated outbox payload");
+        }
+        int offset = position;
+        position += size;
+        return offset;
+    }
+
+    private static int toInt(long value) {
+        if ((int) value != value) {
+            throw new IllegalArgumentException("Out of range value in outbox payload");
+        }
+        return (int) value;
+    }
+
+    private long readFixedLong() {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | readByte();
+        }
+        return value;
+    }
+
+    private long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in outbox payload");
+    }
+}
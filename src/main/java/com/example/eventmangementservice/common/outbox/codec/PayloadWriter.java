@@ -0,0 +1,133 @@
+package com.example.eventmangementservice.common.outbox.codec;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Appends fields in the compact outbox encoding: integers as zigzag varints, strings and decimals length
+ * prefixed, and nullable values behind a presence marker. Fields carry no names or tags; the schema version
+ * written first decides the field order.
+ */
+public class PayloadWriter {
+
+    private byte[] buffer = new byte[256];
+    private int size;
+
+    public PayloadWriter(int schemaVersion) {
+        write(schemaVersion);
+    }
+
+    public PayloadWriter writeBoolean(boolean value) {
+        write(value ? 1 : 0);
+        return this;
+    }
+
+    public PayloadWriter writeInt(int value) {
+        return writeLong(value);
+    }
+
+    public PayloadWriter writeLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+        return this;
+    }
+
+    public PayloadWriter writeNullableInt(Integer value) {
+        if (present(value)) {
+            writeInt(value);
+        }
+        return this;
+    }
+
+    // Length + 1, so that 0 can stand for null without a separate marker
+    public PayloadWriter writeString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return this;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        write(bytes);
+        return this;
+    }
+
+    public PayloadWriter writeUuid(UUID value) {
+        if (present(value)) {
+            writeFixedLong(value.getMostSignificantBits());
+            writeFixedLong(value.getLeastSignificantBits());
+        }
+        return this;
+    }
+
+    public PayloadWriter writeDecimal(BigDecimal value) {
+        if (present(value)) {
+            writeInt(value.scale());
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            writeVarLong(unscaled.length);
+            write(unscaled);
+        }
+        return this;
+    }
+
+    // Seconds and nanos of the wall-clock time; LocalDateTime carries no zone, so UTC only serves as the epoch
+    public PayloadWriter writeDateTime(LocalDateTime value) {
+        if (present(value)) {
+            writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            writeInt(value.getNano());
+        }
+        return this;
+    }
+
+    public <E extends Enum<E>> PayloadWriter writeEnum(E value) {
+        return writeString(value != null ? value.name() : null);
+    }
+
+    public PayloadWriter writeCount(int count) {
+        writeVarLong(count);
+        return this;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    // A plain array rather than ByteArrayOutputStream, whose synchronized per-byte writes dominate encoding time
+    private void write(int b) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) b;
+    }
+
+    private void write(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+
+    private boolean present(Object value) {
+        write(value != null ? 1 : 0);
+        return value != null;
+    }
+
+    private void writeFixedLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            write((int) (value >>> shift));
+        }
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        write((int) value);
+    }
+}
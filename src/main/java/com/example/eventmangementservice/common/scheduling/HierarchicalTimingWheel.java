@@ -0,0 +1,160 @@
+package com.example.eventmangementservice.common.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel. Level 0 has wheelSize buckets of one tick each; every level above covers
+ * wheelSize buckets of the full span of the level below. Scheduling is O(1), and entries cascade down a
+ * level when the wheel reaches their bucket, so far-off deadlines cost nothing until they get close.
+ * Items that are due on the same tick are handed to the consumer together on the supplied executor.
+ */
+@Slf4j
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long[] levelSpans;
+    private final ArrayDeque<Entry<T>>[][] buckets;
+    private final Consumer<List<T>> onExpired;
+    private final Executor executor;
+    private final Thread driver;
+
+    private final long startMs;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(String name, long tickMs, int wheelSize, int levels,
+                                   Executor executor, Consumer<List<T>> onExpired) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.levelSpans = new long[levels];
+        this.buckets = new ArrayDeque[levels][wheelSize];
+        this.executor = executor;
+        this.onExpired = onExpired;
+
+        long span = 1;
+        for (int level = 0; level < levels; level++) {
+            levelSpans[level] = span;
+            span *= wheelSize;
+            for (int bucket = 0; bucket < wheelSize; bucket++) {
+                buckets[level][bucket] = new ArrayDeque<>();
+            }
+        }
+
+        this.startMs = System.currentTimeMillis();
+        this.driver = new Thread(this::run, name);
+        this.driver.setDaemon(true);
+    }
+
+    public void start() {
+        driver.start();
+    }
+
+    public void stop() {
+        driver.interrupt();
+    }
+
+    public void schedule(long deadlineMs, T item) {
+        // Round up so an item never fires before its deadline
+        long expirationTick = (deadlineMs - startMs + tickMs - 1) / tickMs;
+        synchronized (this) {
+            if (expirationTick <= currentTick) {
+                dispatch(List.of(item));
+                return;
+            }
+            place(new Entry<>(expirationTick, item));
+            size++;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(Entry<T> entry) {
+        long delay = entry.expirationTick - currentTick;
+        for (int level = 0; level < levelSpans.length; level++) {
+            if (delay < levelSpans[level] * wheelSize) {
+                buckets[level][(int) ((entry.expirationTick / levelSpans[level]) % wheelSize)].add(entry);
+                return;
+            }
+        }
+        // Beyond the top level: park it in the top bucket that cascades next and re-place it from there
+        int top = levelSpans.length - 1;
+        buckets[top][(int) ((currentTick / levelSpans[top] + 1) % wheelSize)].add(entry);
+    }
+
+    private List<T> advance() {
+        currentTick++;
+
+        for (int level = levelSpans.length - 1; level > 0; level--) {
+            if (currentTick % levelSpans[level] == 0) {
+                ArrayDeque<Entry<T>> bucket = buckets[level][(int) ((currentTick / levelSpans[level]) % wheelSize)];
+                List<Entry<T>> cascading = new ArrayList<>(bucket);
+                bucket.clear();
+                cascading.forEach(this::place);
+            }
+        }
+
+        ArrayDeque<Entry<T>> due = buckets[0][(int) (currentTick % wheelSize)];
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        List<T> expired = new ArrayList<>(due.size());
+        due.forEach(entry -> expired.add(entry.item));
+        due.clear();
+        size -= expired.size();
+        return expired;
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                long nextTickAt;
+                synchronized (this) {
+                    nextTickAt = startMs + (currentTick + 1) * tickMs;
+                }
+                long sleepMs = nextTickAt - System.currentTimeMillis();
+                if (sleepMs > 0) {
+                    Thread.sleep(sleepMs);
+                }
+
+                // Catch up on every tick that has passed if the driver fell behind
+                List<T> expired = new ArrayList<>();
+                synchronized (this) {
+                    long targetTick = (System.currentTimeMillis() - startMs) / tickMs;
+                    while (currentTick < targetTick) {
+                        expired.addAll(advance());
+                    }
+                }
+                if (!expired.isEmpty()) {
+                    dispatch(expired);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Timing wheel {} failed to advance", driver.getName(), e);
+            }
+        }
+    }
+
+    private void dispatch(List<T> items) {
+        executor.execute(() -> {
+            try {
+                onExpired.accept(items);
+            } catch (RuntimeException e) {
+                log.error("Timer task failed for {} items", items.size(), e);
+            }
+        });
+    }
+
+    private record Entry<T>(long expirationTick, T item) {
+    }
+}
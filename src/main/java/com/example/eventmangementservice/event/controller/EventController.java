@@ -1,10 +1,13 @@
 package com.example.eventmangementservice.event.controller;
 
 import com.example.eventmangementservice.common.dto.ApiResponse;
+import com.example.eventmangementservice.common.dto.CursorPage;
 import com.example.eventmangementservice.event.dto.EventCreateRequest;
 import com.example.eventmangementservice.event.dto.EventResponse;
 import com.example.eventmangementservice.event.dto.EventSearchRequest;
 import com.example.eventmangementservice.event.dto.EventUpdateRequest;
+import com.example.eventmangementservice.event.dto.SeatSectionRequest;
+import com.example.eventmangementservice.event.dto.SeatSectionResponse;
 import com.example.eventmangementservice.event.service.EventService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +33,15 @@ public class EventController {
         return ResponseEntity.ok(ApiResponse.success(events));
     }
 
+    // Cursor-paged alternative to the listing above; cost stays flat at any depth
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<EventResponse>>> scrollEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<EventResponse> events = eventService.scrollEvents(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(events));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<EventResponse>> getEventById(@PathVariable UUID id) {
         EventResponse event = eventService.getEventById(id);
@@ -66,6 +78,15 @@ public class EventController {
         return ResponseEntity.ok(ApiResponse.success("Event published successfully", event));
     }
 
+    @PostMapping("/{id}/seat-sections")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<SeatSectionResponse>> addSeatSection(
+            @PathVariable UUID id,
+            @Valid @RequestBody SeatSectionRequest request) {
+        SeatSectionResponse section = eventService.addSeatSection(id, request);
+        return new ResponseEntity<>(ApiResponse.success("Seat section created successfully", section), HttpStatus.CREATED);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<Page<EventResponse>>> searchEvents(
             @ModelAttribute EventSearchRequest request,
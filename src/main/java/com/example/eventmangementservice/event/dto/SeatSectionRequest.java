@@ -0,0 +1,28 @@
+package com.example.eventmangementservice.event.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class SeatSectionRequest {
+
+    @NotBlank(message = "Section name is required")
+    @Size(max = 50, message = "Section name cannot exceed 50 characters")
+    private String name;
+
+    @NotNull(message = "Ticket type is required")
+    private UUID ticketTypeId;
+
+    @NotNull(message = "Row count is required")
+    @Min(value = 1, message = "Row count must be at least 1")
+    private Integer rowCount;
+
+    @NotNull(message = "Seats per row is required")
+    @Min(value = 1, message = "Seats per row must be at least 1")
+    private Integer seatsPerRow;
+
+    // Sections of a ticket type are offered in ascending sort order
+    private Integer sortOrder = 0;
+}
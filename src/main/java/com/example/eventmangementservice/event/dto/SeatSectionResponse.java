@@ -0,0 +1,22 @@
+package com.example.eventmangementservice.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatSectionResponse {
+    private UUID id;
+    private UUID eventId;
+    private UUID ticketTypeId;
+    private String name;
+    private Integer rowCount;
+    private Integer seatsPerRow;
+    private Integer sortOrder;
+}
@@ -1,44 +1,88 @@
 package com.example.eventmangementservice.event.listener;
 
-import com.example.eventmangementservice.event.model.Event;
+import com.example.eventmangementservice.common.outbox.OutboxRelay;
+import com.example.eventmangementservice.event.outbox.EventPayload;
+import com.example.eventmangementservice.event.outbox.EventPayloadCodec;
 import com.example.eventmangementservice.event.search.EventSearchService;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Keeps the search index in step with the events topic, a poll batch at a time. Records for the same event are
+ * collapsed to the last one, which is the latest since an event's records share a partition, and the survivors
+ * go to Elasticsearch in one bulk request. The batch's offsets are committed only after that request succeeds;
+ * if it fails, the container's error handler redelivers the whole batch until it succeeds, which is safe because
+ * indexing a full document and deleting are both idempotent. Undecodable records are skipped here instead, since
+ * redelivering them would block the partition for good.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class EventKafkaListener {
 
     private final EventSearchService eventSearchService;
-    private final ObjectMapper objectMapper;
-
-    @SneakyThrows
-    @KafkaListener(topics = "events", groupId = "event-search-group")
-    public void handleEventMessage(String eventJson) {
-        log.info("Received event message: {}", eventJson);
-        
-        String eventType = objectMapper.readTree(eventJson).get("eventType").asText();
-        String payload = objectMapper.readTree(eventJson).get("payload").toString();
-        
-        switch (eventType) {
-            case "EVENT_CREATED", "EVENT_UPDATED", "EVENT_PUBLISHED" -> {
-                Event event = objectMapper.readValue(payload, Event.class);
-                eventSearchService.indexEvent(event);
-                log.info("Indexed event: {}", event.getId());
+    private final EventPayloadCodec eventPayloadCodec;
+
+    @KafkaListener(topics = "events", groupId = "event-search-group", containerFactory = "batchListenerContainerFactory")
+    public void handleEventMessages(List<ConsumerRecord<String, byte[]>> records) {
+        Map<UUID, EventChange> latest = new LinkedHashMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            EventChange change = toChange(record);
+            if (change != null) {
+                latest.put(change.event().id(), change);
             }
-            case "EVENT_DELETED" -> {
-                Event event = objectMapper.readValue(payload, Event.class);
-                eventSearchService.deleteIndexedEvent(event.getId());
-                log.info("Deleted event from index: {}", event.getId());
+        }
+
+        List<EventPayload> indexed = new ArrayList<>();
+        List<UUID> deletedIds = new ArrayList<>();
+        for (EventChange change : latest.values()) {
+            if (change.deleted()) {
+                deletedIds.add(change.event().id());
+            } else {
+                indexed.add(change.event());
             }
-            default -> log.warn("Unknown event type: {}", eventType);
         }
+
+        eventSearchService.applyIndexChanges(indexed, deletedIds);
+        log.info("Applied {} event messages to the index: {} indexed, {} deleted",
+                records.size(), indexed.size(), deletedIds.size());
+    }
+
+    private EventChange toChange(ConsumerRecord<String, byte[]> record) {
+        // The relay publishes the outbox payload as is and carries the event type in a header
+        Header eventTypeHeader = record.headers().lastHeader(OutboxRelay.EVENT_TYPE_HEADER);
+        String eventType = eventTypeHeader != null ? new String(eventTypeHeader.value(), StandardCharsets.UTF_8) : "";
+
+        EventPayload event;
+        try {
+            event = eventPayloadCodec.decode(record.value());
+        } catch (IllegalArgumentException e) {
+            // Redelivering an undecodable payload can't help, so skip it rather than block the partition
+            log.error("Skipping event message for {}: {}", record.key(), e.getMessage());
+            return null;
+        }
+
+        return switch (eventType) {
+            case "EVENT_CREATED", "EVENT_UPDATED", "EVENT_PUBLISHED" -> new EventChange(event, false);
+            case "EVENT_DELETED" -> new EventChange(event, true);
+            default -> {
+                log.warn("Unknown event type: {}", eventType);
+                yield null;
+            }
+        };
+    }
+
+    private record EventChange(EventPayload event, boolean deleted) {
     }
 }
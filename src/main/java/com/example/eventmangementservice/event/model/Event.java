@@ -15,7 +15,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = @Index(name = "idx_events_published_created", columnList = "published, createdAt, id"))
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
@@ -0,0 +1,37 @@
+package com.example.eventmangementservice.event.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+// One shard of an event's seat counter; the event's remaining seats are the sum over its slots
+@Entity
+@Table(name = "event_seat_slots")
+@IdClass(EventSeatSlot.SlotId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSeatSlot {
+
+    @Id
+    @Column(name = "event_id")
+    private UUID eventId;
+
+    @Id
+    private int slot;
+
+    @Column(nullable = false)
+    private int available;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SlotId implements Serializable {
+        private UUID eventId;
+        private int slot;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.eventmangementservice.event.model;
+
+import com.example.eventmangementservice.common.model.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+// A block of assigned seats for an event, sold through one ticket type
+@Entity
+@Table(name = "seat_sections")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatSection extends BaseEntity {
+
+    @Column(nullable = false)
+    private String name;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ticket_type_id", nullable = false)
+    private TicketType ticketType;
+
+    @Column(nullable = false)
+    private Integer rowCount;
+
+    @Column(nullable = false)
+    private Integer seatsPerRow;
+
+    // Row-major bitset (BitSet.toByteArray) of the grid positions that are real seats; null means every position is
+    private byte[] seatMask;
+
+    // Sections are offered in this order, best first
+    @Column(nullable = false)
+    private Integer sortOrder = 0;
+}
@@ -0,0 +1,66 @@
+package com.example.eventmangementservice.event.outbox;
+
+import com.example.eventmangementservice.event.model.Event;
+import com.example.eventmangementservice.event.model.EventStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// What an EVENT_* outbox message carries: the fields the search index is built from, and nothing lazy beyond them
+public record EventPayload(
+        UUID id,
+        String name,
+        String description,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        VenuePayload venue,
+        Integer totalSeats,
+        Integer availableSeats,
+        BigDecimal basePrice,
+        EventStatus status,
+        boolean published,
+        List<CategoryPayload> categories,
+        List<TicketTypePayload> ticketTypes,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public record VenuePayload(UUID id, String name, String address, String city, String state, String country,
+                               String postalCode, Integer capacity) {
+    }
+
+    public record CategoryPayload(UUID id, String name, String description) {
+    }
+
+    public record TicketTypePayload(UUID id, String name, String description, BigDecimal price, Integer quantity,
+                                    Integer available) {
+    }
+
+    public static EventPayload from(Event event) {
+        VenuePayload venue = event.getVenue() == null ? null : new VenuePayload(
+                event.getVenue().getId(),
+                event.getVenue().getName(),
+                event.getVenue().getAddress(),
+                event.getVenue().getCity(),
+                event.getVenue().getState(),
+                event.getVenue().getCountry(),
+                event.getVenue().getPostalCode(),
+                event.getVenue().getCapacity());
+
+        List<CategoryPayload> categories = event.getCategories().stream()
+                .map(category -> new CategoryPayload(category.getId(), category.getName(), category.getDescription()))
+                .toList();
+
+        List<TicketTypePayload> ticketTypes = event.getTicketTypes().stream()
+                .map(ticketType -> new TicketTypePayload(ticketType.getId(), ticketType.getName(),
+                        ticketType.getDescription(), ticketType.getPrice(), ticketType.getQuantity(),
+                        ticketType.getAvailable()))
+                .toList();
+
+        return new EventPayload(event.getId(), event.getName(), event.getDescription(), event.getStartDate(),
+                event.getEndDate(), venue, event.getTotalSeats(), event.getAvailableSeats(), event.getBasePrice(),
+                event.getStatus(), event.isPublished(), categories, ticketTypes, event.getCreatedAt(),
+                event.getUpdatedAt());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.eventmangementservice.event.outbox;
+
+import com.example.eventmangementservice.common.outbox.codec.PayloadCodec;
+import com.example.eventmangementservice.common.outbox.codec.PayloadReader;
+import com.example.eventmangementservice.common.outbox.codec.PayloadWriter;
+import com.example.eventmangementservice.event.model.EventStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class EventPayloadCodec implements PayloadCodec<EventPayload> {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    @Override
+    public byte[] encode(EventPayload payload) {
+        PayloadWriter writer = new PayloadWriter(SCHEMA_VERSION)
+                .writeUuid(payload.id())
+                .writeString(payload.name())
+                .writeString(payload.description())
+                .writeDateTime(payload.startDate())
+                .writeDateTime(payload.endDate());
+
+        EventPayload.VenuePayload venue = payload.venue();
+        writer.writeBoolean(venue != null);
+        if (venue != null) {
+            writer.writeUuid(venue.id())
+                    .writeString(venue.name())
+                    .writeString(venue.address())
+                    .writeString(venue.city())
+                    .writeString(venue.state())
+                    .writeString(venue.country())
+                    .writeString(venue.postalCode())
+                    .writeNullableInt(venue.capacity());
+        }
+
+        writer.writeNullableInt(payload.totalSeats())
+                .writeNullableInt(payload.availableSeats())
+                .writeDecimal(payload.basePrice())
+                .writeEnum(payload.status())
+                .writeBoolean(payload.published());
+
+        writer.writeCount(payload.categories().size());
+        for (EventPayload.CategoryPayload category : payload.categories()) {
+            writer.writeUuid(category.id())
+                    .writeString(category.name())
+                    .writeString(category.description());
+        }
+
+        writer.writeCount(payload.ticketTypes().size());
+        for (EventPayload.TicketTypePayload ticketType : payload.ticketTypes()) {
+            writer.writeUuid(ticketType.id())
+                    .writeString(ticketType.name())
+                    .writeString(ticketType.description())
+                    .writeDecimal(ticketType.price())
+                    .writeNullableInt(ticketType.quantity())
+                    .writeNullableInt(ticketType.available());
+        }
+
+        return writer.writeDateTime(payload.createdAt())
+                .writeDateTime(payload.updatedAt())
+                .toByteArray();
+    }
+
+    @Override
+    public EventPayload decode(byte[] data) {
+        PayloadReader reader = new PayloadReader(data).expectVersion("EventPayload", SCHEMA_VERSION);
+
+        var id = reader.readUuid();
+        var name = reader.readString();
+        var description = reader.readString();
+        var startDate = reader.readDateTime();
+        var endDate = reader.readDateTime();
+
+        EventPayload.VenuePayload venue = null;
+        if (reader.readBoolean()) {
+            venue = new EventPayload.VenuePayload(reader.readUuid(), reader.readString(), reader.readString(),
+                    reader.readString(), reader.readString(), reader.readString(), reader.readString(),
+                    reader.readNullableInt());
+        }
+
+        var totalSeats = reader.readNullableInt();
+        var availableSeats = reader.readNullableInt();
+        var basePrice = reader.readDecimal();
+        var status = reader.readEnum(EventStatus.class);
+        var published = reader.readBoolean();
+
+        int categoryCount = reader.readCount();
+        List<EventPayload.CategoryPayload> categories = new ArrayList<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            categories.add(new EventPayload.CategoryPayload(reader.readUuid(), reader.readString(), reader.readString()));
+        }
+
+        int ticketTypeCount = reader.readCount();
+        List<EventPayload.TicketTypePayload> ticketTypes = new ArrayList<>(ticketTypeCount);
+        for (int i = 0; i < ticketTypeCount; i++) {
+            ticketTypes.add(new EventPayload.TicketTypePayload(reader.readUuid(), reader.readString(),
+                    reader.readString(), reader.readDecimal(), reader.readNullableInt(), reader.readNullableInt()));
+        }
+
+        return new EventPayload(id, name, description, startDate, endDate, venue, totalSeats, availableSeats,
+                basePrice, status, published, categories, ticketTypes, reader.readDateTime(), reader.readDateTime());
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -20,10 +21,24 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
     
     Page<Event> findByPublishedTrue(Pageable pageable);
     
+    // Keyset pages of published events, newest first; native queries skip @Where, hence the explicit deleted filter
+    @Query(value = "SELECT * FROM events WHERE published = true AND deleted = false " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Event> findFirstPublished(int limit);
+    
+    @Query(value = "SELECT * FROM events WHERE published = true AND deleted = false AND (created_at, id) < (:createdAt, :id) " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Event> findPublishedAfter(LocalDateTime createdAt, UUID id, int limit);
+    
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT e FROM Event e WHERE e.id = :id")
     Optional<Event> findByIdWithLock(UUID id);
     
+    // Bumps the version like an entity save would, so a writer holding a stale copy fails instead of overwriting
+    @Modifying
+    @Query("UPDATE Event e SET e.availableSeats = e.availableSeats + :seats, e.version = e.version + 1 WHERE e.id = :id")
+    int incrementAvailableSeats(UUID id, int seats);
+    
     List<Event> findByStatusAndStartDateBefore(EventStatus status, LocalDateTime dateTime);
     
     @Query("SELECT e FROM Event e WHERE " +
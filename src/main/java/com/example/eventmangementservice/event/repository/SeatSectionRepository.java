@@ -0,0 +1,14 @@
+package com.example.eventmangementservice.event.repository;
+
+import com.example.eventmangementservice.event.model.SeatSection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SeatSectionRepository extends JpaRepository<SeatSection, UUID> {
+
+    List<SeatSection> findByTicketTypeIdOrderBySortOrder(UUID ticketTypeId);
+}
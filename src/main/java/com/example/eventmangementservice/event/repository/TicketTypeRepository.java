@@ -3,6 +3,7 @@ package com.example.eventmangementservice.event.repository;
 import com.example.eventmangementservice.event.model.TicketType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -19,4 +20,9 @@ public interface TicketTypeRepository extends JpaRepository<TicketType, UUID> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT t FROM TicketType t WHERE t.id = :id")
     Optional<TicketType> findByIdWithLock(UUID id);
+    
+    // Bumps the version like an entity save would, so a writer holding a stale copy fails instead of overwriting
+    @Modifying
+    @Query("UPDATE TicketType t SET t.available = t.available + :quantity, t.version = t.version + 1 WHERE t.id = :id")
+    int incrementAvailable(UUID id, int quantity);
 }
@@ -2,12 +2,16 @@ package com.example.eventmangementservice.event.search;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch.core.*;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
 import co.elastic.clients.elasticsearch.core.search.Hit;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -53,6 +57,40 @@ public class EventSearchRepository {
         log.info("Deleted event from Elasticsearch: {}, result: {}", id, response.result().name());
     }
 
+    // Index and delete operations in one request; a failed item fails the call, so the caller can retry all of it
+    @SneakyThrows
+    public void bulk(List<EventDocument> events, Collection<UUID> deletedIds) {
+        List<BulkOperation> operations = new ArrayList<>(events.size() + deletedIds.size());
+        for (EventDocument event : events) {
+            operations.add(BulkOperation.of(b -> b.index(i -> i
+                    .index(INDEX_NAME)
+                    .id(event.getId().toString())
+                    .document(event)
+            )));
+        }
+        for (UUID id : deletedIds) {
+            operations.add(BulkOperation.of(b -> b.delete(d -> d
+                    .index(INDEX_NAME)
+                    .id(id.toString())
+            )));
+        }
+        if (operations.isEmpty()) {
+            return;
+        }
+
+        BulkResponse response = elasticsearchClient.bulk(b -> b.operations(operations));
+        if (response.errors()) {
+            List<BulkResponseItem> failures = response.items().stream()
+                    .filter(item -> item.error() != null)
+                    .collect(Collectors.toList());
+            BulkResponseItem first = failures.get(0);
+            throw new IllegalStateException("Bulk indexing failed for " + failures.size() + " of " +
+                    operations.size() + " events, first " + first.id() + ": " + first.error().reason());
+        }
+        log.info("Bulk indexed {} and deleted {} events in Elasticsearch in {} ms",
+                events.size(), deletedIds.size(), response.took());
+    }
+
     @SneakyThrows
     public EventDocument findById(UUID id) {
         GetResponse<EventDocument> response = elasticsearchClient.get(g -> g
@@ -5,6 +5,7 @@ import com.example.eventmangementservice.event.dto.EventSearchRequest;
 import com.example.eventmangementservice.event.model.Category;
 import com.example.eventmangementservice.event.model.Event;
 import com.example.eventmangementservice.event.model.TicketType;
+import com.example.eventmangementservice.event.outbox.EventPayload;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -12,6 +13,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -66,7 +68,7 @@ public class EventSearchService {
         return new PageImpl<>(eventResponses, pageable, eventResponses.size());
     }
 
-    public void indexEvent(Event event) {
+    public void indexEvent(EventPayload event) {
         EventDocument eventDocument = mapToEventDocument(event);
         eventSearchRepository.save(eventDocument);
     }
@@ -80,6 +82,14 @@ public class EventSearchService {
         eventSearchRepository.delete(eventId);
     }
 
+    // One _bulk request for a whole batch of index changes
+    public void applyIndexChanges(Collection<EventPayload> indexed, Collection<UUID> deletedIds) {
+        List<EventDocument> eventDocuments = indexed.stream()
+                .map(this::mapToEventDocument)
+                .collect(Collectors.toList());
+        eventSearchRepository.bulk(eventDocuments, deletedIds);
+    }
+
     private EventDocument mapToEventDocument(Event event) {
         return EventDocument.builder()
                 .id(event.getId())
@@ -100,6 +110,36 @@ public class EventSearchService {
                 .build();
     }
 
+    private EventDocument mapToEventDocument(EventPayload event) {
+        EventPayload.VenuePayload venue = event.venue();
+        return EventDocument.builder()
+                .id(event.id())
+                .name(event.name())
+                .description(event.description())
+                .startDate(event.startDate())
+                .endDate(event.endDate())
+                .venue(venue == null ? null : new EventDocument.VenueDocument(venue.id(), venue.name(),
+                        venue.address(), venue.city(), venue.state(), venue.country(), venue.postalCode(),
+                        venue.capacity()))
+                .totalSeats(event.totalSeats())
+                .availableSeats(event.availableSeats())
+                .basePrice(event.basePrice())
+                .status(event.status())
+                .published(event.published())
+                .categories(event.categories().stream()
+                        .map(category -> new EventDocument.CategoryDocument(category.id(), category.name(),
+                                category.description()))
+                        .collect(Collectors.toList()))
+                .ticketTypes(event.ticketTypes().stream()
+                        .map(ticketType -> new EventDocument.TicketTypeDocument(ticketType.id(), ticketType.name(),
+                                ticketType.description(), ticketType.price(), ticketType.quantity(),
+                                ticketType.available()))
+                        .collect(Collectors.toList()))
+                .createdAt(event.createdAt())
+                .updatedAt(event.updatedAt())
+                .build();
+    }
+
     private EventDocument.VenueDocument mapToVenueDocument(Event event) {
         return new EventDocument.VenueDocument(
                 event.getVenue().getId(),
@@ -0,0 +1,14 @@
+package com.example.eventmangementservice.event.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+// Published when an event's seat or ticket-type quantities may have changed, so in-memory inventory can follow
+@Getter
+@RequiredArgsConstructor
+public class EventCapacityChangedEvent {
+
+    private final UUID eventId;
+}
@@ -1,24 +1,33 @@
 package com.example.eventmangementservice.event.service;
 
+import com.example.eventmangementservice.common.dto.CursorPage;
 import com.example.eventmangementservice.common.exception.BusinessException;
 import com.example.eventmangementservice.common.exception.ResourceNotFoundException;
 import com.example.eventmangementservice.common.outbox.OutboxMessage;
 import com.example.eventmangementservice.common.outbox.OutboxRepository;
 import com.example.eventmangementservice.common.outbox.OutboxStatus;
+import com.example.eventmangementservice.common.pagination.KeysetCursor;
 import com.example.eventmangementservice.event.dto.EventCreateRequest;
 import com.example.eventmangementservice.event.dto.EventResponse;
 import com.example.eventmangementservice.event.dto.EventSearchRequest;
 import com.example.eventmangementservice.event.dto.EventUpdateRequest;
+import com.example.eventmangementservice.event.dto.SeatSectionRequest;
+import com.example.eventmangementservice.event.dto.SeatSectionResponse;
 import com.example.eventmangementservice.event.model.Category;
 import com.example.eventmangementservice.event.model.Event;
 import com.example.eventmangementservice.event.model.EventStatus;
+import com.example.eventmangementservice.event.model.SeatSection;
+import com.example.eventmangementservice.event.model.TicketType;
+import com.example.eventmangementservice.event.outbox.EventPayload;
+import com.example.eventmangementservice.event.outbox.EventPayloadCodec;
 import com.example.eventmangementservice.event.repository.CategoryRepository;
 import com.example.eventmangementservice.event.repository.EventRepository;
+import com.example.eventmangementservice.event.repository.SeatSectionRepository;
+import com.example.eventmangementservice.event.repository.TicketTypeRepository;
 import com.example.eventmangementservice.event.repository.VenueRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -26,6 +35,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -38,8 +48,11 @@ public class EventService {
     private final EventRepository eventRepository;
     private final VenueRepository venueRepository;
     private final CategoryRepository categoryRepository;
+    private final TicketTypeRepository ticketTypeRepository;
+    private final SeatSectionRepository seatSectionRepository;
     private final OutboxRepository outboxRepository;
-    private final ObjectMapper objectMapper;
+    private final EventPayloadCodec eventPayloadCodec;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Page<EventResponse> getAllEvents(Pageable pageable) {
@@ -47,6 +60,23 @@ public class EventService {
                 .map(this::mapToEventResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<EventResponse> scrollEvents(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = KeysetCursor.pageSize(size);
+        
+        // Ask for one extra row to learn whether there is a next page without a COUNT
+        List<Event> events = after == null
+                ? eventRepository.findFirstPublished(limit + 1)
+                : eventRepository.findPublishedAfter(after.createdAt(), after.id(), limit + 1);
+        boolean hasNext = events.size() > limit;
+        List<Event> page = hasNext ? events.subList(0, limit) : events;
+        
+        List<EventResponse> items = page.stream().map(this::mapToEventResponse).collect(Collectors.toList());
+        Event last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return new CursorPage<>(items, hasNext ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null);
+    }
+
     @Transactional(readOnly = true)
     public EventResponse getEventById(UUID id) {
         Event event = findEventById(id);
@@ -90,6 +120,8 @@ public class EventService {
         
         Event updatedEvent = eventRepository.save(event);
         createOutboxMessage("EVENT_UPDATED", updatedEvent);
+        // Total seats and ticket-type quantities are edited here; the inventory ledger re-reads them after commit
+        eventPublisher.publishEvent(new EventCapacityChangedEvent(updatedEvent.getId()));
         
         return mapToEventResponse(updatedEvent);
     }
@@ -141,18 +173,47 @@ public class EventService {
         return mapToEventResponse(publishedEvent);
     }
 
+    // Makes a ticket type sold by assigned seat; booking allocators pick up new sections on their next refresh
+    @Transactional
+    public SeatSectionResponse addSeatSection(UUID eventId, SeatSectionRequest request) {
+        Event event = findEventById(eventId);
+        TicketType ticketType = ticketTypeRepository.findById(request.getTicketTypeId())
+                .orElseThrow(() -> ResourceNotFoundException.of("TicketType", "id", request.getTicketTypeId()));
+        if (!ticketType.getEvent().getId().equals(eventId)) {
+            throw new BusinessException("Ticket type does not belong to this event");
+        }
+
+        SeatSection section = new SeatSection();
+        section.setName(request.getName());
+        section.setEvent(event);
+        section.setTicketType(ticketType);
+        section.setRowCount(request.getRowCount());
+        section.setSeatsPerRow(request.getSeatsPerRow());
+        section.setSortOrder(request.getSortOrder() != null ? request.getSortOrder() : 0);
+        SeatSection savedSection = seatSectionRepository.save(section);
+
+        return SeatSectionResponse.builder()
+                .id(savedSection.getId())
+                .eventId(eventId)
+                .ticketTypeId(ticketType.getId())
+                .name(savedSection.getName())
+                .rowCount(savedSection.getRowCount())
+                .seatsPerRow(savedSection.getSeatsPerRow())
+                .sortOrder(savedSection.getSortOrder())
+                .build();
+    }
+
     private Event findEventById(UUID id) {
         return eventRepository.findById(id)
                 .orElseThrow(() -> ResourceNotFoundException.of("Event", "id", id));
     }
 
-    @SneakyThrows
     private void createOutboxMessage(String eventType, Event event) {
         OutboxMessage outboxMessage = OutboxMessage.builder()
                 .aggregateType("EVENT")  // This determines it will go to "events" topic
                 .aggregateId(event.getId().toString())
                 .eventType(eventType)    // EVENT_CREATED, EVENT_UPDATED, EVENT_PUBLISHED, EVENT_DELETED
-                .payload(objectMapper.writeValueAsString(event))
+                .payload(eventPayloadCodec.encode(EventPayload.from(event)))
                 .status(OutboxStatus.CREATED)
                 .build();
         
@@ -1,18 +1,21 @@
 package com.example.eventmangementservice.payment.model;
 
 import com.example.eventmangementservice.booking.model.Booking;
+import com.example.eventmangementservice.common.id.TimeOrderedId;
 import com.example.eventmangementservice.common.model.BaseEntity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "payments")
+@TimeOrderedId
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
@@ -24,6 +27,8 @@ public class Payment extends BaseEntity {
     
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Booking booking;
     
     @Column(nullable = false)
@@ -0,0 +1,27 @@
+package com.example.eventmangementservice.payment.outbox;
+
+import com.example.eventmangementservice.payment.model.Payment;
+import com.example.eventmangementservice.payment.model.PaymentMethod;
+import com.example.eventmangementservice.payment.model.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// What a PAYMENT_* outbox message carries; the booking is referenced by id only
+public record PaymentPayload(
+        UUID id,
+        String paymentReference,
+        UUID bookingId,
+        BigDecimal amount,
+        PaymentStatus status,
+        PaymentMethod paymentMethod,
+        String gatewayTransactionId,
+        LocalDateTime paymentDate) {
+
+    public static PaymentPayload from(Payment payment) {
+        return new PaymentPayload(payment.getId(), payment.getPaymentReference(), payment.getBooking().getId(),
+                payment.getAmount(), payment.getStatus(), payment.getPaymentMethod(),
+                payment.getGatewayTransactionId(), payment.getPaymentDate());
+    }
+}
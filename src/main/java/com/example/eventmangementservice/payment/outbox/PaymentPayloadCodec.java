@@ -0,0 +1,36 @@
+package com.example.eventmangementservice.payment.outbox;
+
+import com.example.eventmangementservice.common.outbox.codec.PayloadCodec;
+import com.example.eventmangementservice.common.outbox.codec.PayloadReader;
+import com.example.eventmangementservice.common.outbox.codec.PayloadWriter;
+import com.example.eventmangementservice.payment.model.PaymentMethod;
+import com.example.eventmangementservice.payment.model.PaymentStatus;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PaymentPayloadCodec implements PayloadCodec<PaymentPayload> {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    @Override
+    public byte[] encode(PaymentPayload payload) {
+        return new PayloadWriter(SCHEMA_VERSION)
+                .writeUuid(payload.id())
+                .writeString(payload.paymentReference())
+                .writeUuid(payload.bookingId())
+                .writeDecimal(payload.amount())
+                .writeEnum(payload.status())
+                .writeEnum(payload.paymentMethod())
+                .writeString(payload.gatewayTransactionId())
+                .writeDateTime(payload.paymentDate())
+                .toByteArray();
+    }
+
+    @Override
+    public PaymentPayload decode(byte[] data) {
+        PayloadReader reader = new PayloadReader(data).expectVersion("PaymentPayload", SCHEMA_VERSION);
+        return new PaymentPayload(reader.readUuid(), reader.readString(), reader.readUuid(), reader.readDecimal(),
+                reader.readEnum(PaymentStatus.class), reader.readEnum(PaymentMethod.class), reader.readString(),
+                reader.readDateTime());
+    }
+}
@@ -2,7 +2,9 @@ package com.example.eventmangementservice.payment.repository;
 
 import com.example.eventmangementservice.payment.model.Payment;
 import com.example.eventmangementservice.payment.model.PaymentStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,6 +15,10 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     
     Optional<Payment> findByPaymentReference(String reference);
     
+    @EntityGraph(attributePaths = "booking")
+    @Query("SELECT p FROM Payment p WHERE p.paymentReference = :reference")
+    Optional<Payment> findWithBookingByPaymentReference(String reference);
+    
     Optional<Payment> findByBookingId(UUID bookingId);
     
     Optional<Payment> findByGatewayTransactionId(String gatewayTransactionId);
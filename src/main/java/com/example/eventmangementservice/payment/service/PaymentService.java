@@ -3,8 +3,11 @@ package com.example.eventmangementservice.payment.service;
 import com.example.eventmangementservice.booking.model.Booking;
 import com.example.eventmangementservice.booking.model.BookingStatus;
 import com.example.eventmangementservice.booking.repository.BookingRepository;
+import com.example.eventmangementservice.booking.stats.SalesStatsRecorder;
 import com.example.eventmangementservice.common.exception.BusinessException;
 import com.example.eventmangementservice.common.exception.ResourceNotFoundException;
+import com.example.eventmangementservice.common.id.SnowflakeIdGenerator;
+import com.example.eventmangementservice.common.idempotency.Idempotent;
 import com.example.eventmangementservice.common.outbox.OutboxMessage;
 import com.example.eventmangementservice.common.outbox.OutboxRepository;
 import com.example.eventmangementservice.common.outbox.OutboxStatus;
@@ -14,10 +17,10 @@ import com.example.eventmangementservice.payment.gateway.PaymentGateway;
 import com.example.eventmangementservice.payment.model.Payment;
 import com.example.eventmangementservice.payment.model.PaymentMethod;
 import com.example.eventmangementservice.payment.model.PaymentStatus;
+import com.example.eventmangementservice.payment.outbox.PaymentPayload;
+import com.example.eventmangementservice.payment.outbox.PaymentPayloadCodec;
 import com.example.eventmangementservice.payment.repository.PaymentRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,9 +36,12 @@ public class PaymentService {
     private final PaymentRepository paymentRepository;
     private final BookingRepository bookingRepository;
     private final OutboxRepository outboxRepository;
-    private final ObjectMapper objectMapper;
+    private final PaymentPayloadCodec paymentPayloadCodec;
     private final PaymentGateway paymentGateway;
+    private final SnowflakeIdGenerator idGenerator;
+    private final SalesStatsRecorder salesStatsRecorder;
 
+    @Idempotent(scope = "payment")
     @Transactional
     public PaymentResponse initiatePayment(PaymentCreateRequest request, String userId) {
         Booking booking = bookingRepository.findById(request.getBookingId())
@@ -100,6 +106,7 @@ public class PaymentService {
             
             // Update booking status
             Booking booking = payment.getBooking();
+            salesStatsRecorder.recordTransition(booking, BookingStatus.CONFIRMED);
             booking.setStatus(BookingStatus.CONFIRMED);
             bookingRepository.save(booking);
             
@@ -115,7 +122,7 @@ public class PaymentService {
 
     @Transactional(readOnly = true)
     public PaymentResponse getPaymentByReference(String reference) {
-        Payment payment = paymentRepository.findByPaymentReference(reference)
+        Payment payment = paymentRepository.findWithBookingByPaymentReference(reference)
                 .orElseThrow(() -> ResourceNotFoundException.of("Payment", "reference", reference));
         
         return mapToPaymentResponse(payment);
@@ -147,6 +154,7 @@ public class PaymentService {
             
             // Update booking status
             Booking booking = payment.getBooking();
+            salesStatsRecorder.recordTransition(booking, BookingStatus.REFUNDED);
             booking.setStatus(BookingStatus.REFUNDED);
             bookingRepository.save(booking);
             
@@ -160,16 +168,15 @@ public class PaymentService {
     }
 
     private String generatePaymentReference() {
-        return "PAY-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        return "PAY-" + idGenerator.nextId();
     }
 
-    @SneakyThrows
     private void createOutboxMessage(String eventType, Payment payment) {
         OutboxMessage outboxMessage = OutboxMessage.builder()
                 .aggregateType("PAYMENT")  // This determines it will go to "payments" topic
                 .aggregateId(payment.getId().toString())
                 .eventType(eventType)      // PAYMENT_INITIATED, PAYMENT_COMPLETED, PAYMENT_FAILED, PAYMENT_REFUNDED
-                .payload(objectMapper.writeValueAsString(payment))
+                .payload(paymentPayloadCodec.encode(PaymentPayload.from(payment)))
                 .status(OutboxStatus.CREATED)
                 .build();
         
@@ -0,0 +1,168 @@
+package com.example.eventmangementservice.booking.repository;
+
+import com.example.eventmangementservice.booking.model.Booking;
+import com.example.eventmangementservice.booking.model.BookingItem;
+import com.example.eventmangementservice.booking.model.BookingStatus;
+import com.example.eventmangementservice.config.JpaConfig;
+import com.example.eventmangementservice.event.model.Event;
+import com.example.eventmangementservice.event.model.TicketType;
+import com.example.eventmangementservice.event.model.Venue;
+import com.example.eventmangementservice.payment.model.Payment;
+import com.example.eventmangementservice.payment.model.PaymentMethod;
+import com.example.eventmangementservice.payment.model.PaymentStatus;
+import com.example.eventmangementservice.payment.repository.PaymentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Guards the statement count of the booking and payment read paths against N+1 regressions
+@DataJpaTest
+@Import(JpaConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class BookingReadQueryTest {
+
+    private static final String USER_ID = "reader@example.com";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private Statistics statistics;
+    private UUID firstBookingId;
+    private String paymentReference;
+
+    @BeforeEach
+    void setUp() {
+        Venue venue = new Venue();
+        venue.setName("Arena");
+        venue.setAddress("1 Main Street");
+        venue.setCapacity(1000);
+        entityManager.persist(venue);
+
+        Event event = new Event();
+        event.setName("Concert");
+        event.setStartDate(LocalDateTime.now().plusDays(7));
+        event.setEndDate(LocalDateTime.now().plusDays(7).plusHours(3));
+        event.setVenue(venue);
+        event.setTotalSeats(1000);
+        event.setAvailableSeats(1000);
+        event.setBasePrice(BigDecimal.TEN);
+        event.setPublished(true);
+        entityManager.persist(event);
+
+        TicketType standard = ticketType(event, "Standard");
+        TicketType vip = ticketType(event, "VIP");
+
+        for (int i = 0; i < 3; i++) {
+            Booking booking = new Booking();
+            booking.setBookingNumber("BK-" + i);
+            booking.setEvent(event);
+            booking.setUserId(USER_ID);
+            booking.setTotalAmount(BigDecimal.valueOf(30));
+            booking.setStatus(BookingStatus.PENDING);
+            booking.setExpiresAt(LocalDateTime.now().plusMinutes(15));
+            entityManager.persist(booking);
+            entityManager.persist(item(booking, standard));
+            entityManager.persist(item(booking, vip));
+
+            if (i == 0) {
+                firstBookingId = booking.getId();
+                Payment payment = new Payment();
+                payment.setPaymentReference("PAY-0");
+                payment.setBooking(booking);
+                payment.setAmount(booking.getTotalAmount());
+                payment.setStatus(PaymentStatus.PENDING);
+                payment.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+                entityManager.persist(payment);
+                paymentReference = payment.getPaymentReference();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void bookingByIdLoadsInOneStatement() {
+        Booking booking = bookingRepository.findWithDetailsById(firstBookingId).orElseThrow();
+        readAsResponse(booking);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void userBookingsPageLoadsInThreeStatements() {
+        Page<UUID> ids = bookingRepository.findIdsByUserId(USER_ID, PageRequest.of(0, 2));
+        List<Booking> bookings = bookingRepository.findAllWithDetailsByIdIn(ids.getContent());
+        bookings.forEach(this::readAsResponse);
+
+        // Id page, total count and the page's bookings with everything they reference
+        assertThat(bookings).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void paymentByReferenceLoadsInOneStatement() {
+        Payment payment = paymentRepository.findWithBookingByPaymentReference(paymentReference).orElseThrow();
+        assertThat(payment.getBooking().getBookingNumber()).isEqualTo("BK-0");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // Touches every association the response mappers read
+    private void readAsResponse(Booking booking) {
+        assertThat(booking.getEvent().getName()).isEqualTo("Concert");
+        assertThat(booking.getItems()).hasSize(2);
+        booking.getItems().forEach(item -> assertThat(item.getTicketType().getName()).isNotBlank());
+        booking.getPayment();
+    }
+
+    private TicketType ticketType(Event event, String name) {
+        TicketType ticketType = new TicketType();
+        ticketType.setName(name);
+        ticketType.setPrice(BigDecimal.TEN);
+        ticketType.setQuantity(500);
+        ticketType.setAvailable(500);
+        ticketType.setEvent(event);
+        return entityManager.persist(ticketType);
+    }
+
+    private BookingItem item(Booking booking, TicketType ticketType) {
+        BookingItem item = new BookingItem();
+        item.setBooking(booking);
+        item.setTicketType(ticketType);
+        item.setQuantity(1);
+        item.setUnitPrice(ticketType.getPrice());
+        item.setTotalPrice(ticketType.getPrice());
+        return item;
+    }
+}
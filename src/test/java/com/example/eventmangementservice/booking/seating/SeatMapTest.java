@@ -0,0 +1,124 @@
+package com.example.eventmangementservice.booking.seating;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatMapTest {
+
+    @Test
+    void picksTheFrontMostRowWithALongEnoughRun() {
+        // Row 0 only has runs of two, row 1 has runs of three and four
+        SeatMap map = new SeatMap(3, 8, unavailable(2, 5, 8 + 3));
+
+        assertThat(map.allocate(4)).containsExactly(1, 4);
+        assertThat(map.allocate(3)).containsExactly(1, 0);
+        assertThat(map.allocate(2)).containsExactly(0, 0);
+        assertThat(map.allocate(8)).containsExactly(2, 0);
+        assertThat(map.allocate(3)).isNull();
+        assertThat(map.freeSeats()).isEqualTo(4);
+    }
+
+    @Test
+    void findsTheLeftmostRunIncludingOneThatSpansBothHalvesOfTheRow() {
+        SeatMap spanning = new SeatMap(1, 8, unavailable(0, 1, 7));
+        assertThat(spanning.allocate(5)).containsExactly(0, 2);
+
+        SeatMap split = new SeatMap(1, 8, unavailable(4));
+        assertThat(split.allocate(3)).containsExactly(0, 0);
+        assertThat(split.allocate(3)).containsExactly(0, 5);
+        assertThat(split.allocate(1)).containsExactly(0, 3);
+        assertThat(split.allocate(1)).isNull();
+    }
+
+    @Test
+    void paddingPastTheEndOfARowIsNeverAllocated() {
+        SeatMap map = new SeatMap(3, 5, new BitSet());
+
+        assertThat(map.allocate(6)).isNull();
+        assertThat(map.allocate(5)).containsExactly(0, 0);
+        assertThat(map.allocate(3)).containsExactly(1, 0);
+        assertThat(map.allocate(3)).containsExactly(2, 0);
+        assertThat(map.allocate(2)).containsExactly(1, 3);
+    }
+
+    @Test
+    void releasedSeatsJoinTheRunsAroundThem() {
+        SeatMap map = new SeatMap(2, 6, new BitSet());
+        map.allocate(6);
+        map.hold(1, 2);
+
+        assertThat(map.allocate(4)).isNull();
+        map.release(0, 2);
+        map.release(0, 3);
+        map.release(0, 4);
+        assertThat(map.allocate(4)).isNull();
+        map.release(1, 2);
+        assertThat(map.allocate(4)).containsExactly(1, 0);
+        assertThat(map.allocate(3)).containsExactly(0, 2);
+    }
+
+    @Test
+    void matchesALinearScanOverRandomHoldsAndReleases() {
+        Random random = new Random(42);
+        int rowCount = 7;
+        int seatsPerRow = 13;
+        BitSet taken = new BitSet();
+        for (int index = 0; index < rowCount * seatsPerRow; index++) {
+            taken.set(index, random.nextInt(3) == 0);
+        }
+        SeatMap map = new SeatMap(rowCount, seatsPerRow, taken);
+
+        for (int step = 0; step < 2_000; step++) {
+            int row = random.nextInt(rowCount);
+            int seat = random.nextInt(seatsPerRow);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    map.hold(row, seat);
+                    taken.set(row * seatsPerRow + seat);
+                }
+                case 1 -> {
+                    map.release(row, seat);
+                    taken.clear(row * seatsPerRow + seat);
+                }
+                default -> {
+                    int count = 1 + random.nextInt(6);
+                    int[] expected = scan(taken, rowCount, seatsPerRow, count);
+                    int[] allocated = map.allocate(count);
+                    if (expected == null) {
+                        assertThat(allocated).as("step %d, %d seats", step, count).isNull();
+                    } else {
+                        assertThat(allocated).as("step %d, %d seats", step, count).containsExactly(expected);
+                        taken.set(expected[0] * seatsPerRow + expected[1], expected[0] * seatsPerRow + expected[1] + count);
+                    }
+                }
+            }
+            assertThat(map.freeSeats()).isEqualTo(rowCount * seatsPerRow - taken.cardinality());
+        }
+    }
+
+    private static BitSet unavailable(int... indexes) {
+        BitSet unavailable = new BitSet();
+        for (int index : indexes) {
+            unavailable.set(index);
+        }
+        return unavailable;
+    }
+
+    // Front-most row, leftmost run: what allocate must return
+    private static int[] scan(BitSet taken, int rowCount, int seatsPerRow, int count) {
+        for (int row = 0; row < rowCount; row++) {
+            int run = 0;
+            for (int seat = 0; seat < seatsPerRow; seat++) {
+                run = taken.get(row * seatsPerRow + seat) ? 0 : run + 1;
+                if (run == count) {
+                    return new int[]{row, seat - count + 1};
+                }
+            }
+        }
+        return null;
+    }
+}
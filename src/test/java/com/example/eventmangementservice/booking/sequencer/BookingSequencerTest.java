@@ -0,0 +1,273 @@
+package com.example.eventmangementservice.booking.sequencer;
+
+import com.example.eventmangementservice.booking.dto.BookingCreateRequest;
+import com.example.eventmangementservice.booking.dto.BookingResponse;
+import com.example.eventmangementservice.booking.inventory.EventSeatCounter;
+import com.example.eventmangementservice.booking.inventory.PessimisticInventoryReservationStrategy;
+import com.example.eventmangementservice.booking.outbox.BookingPayloadCodec;
+import com.example.eventmangementservice.booking.repository.BookingSubmissionRepository;
+import com.example.eventmangementservice.booking.seating.SeatAllocator;
+import com.example.eventmangementservice.booking.service.BookingService;
+import com.example.eventmangementservice.booking.stats.SalesStatsRecorder;
+import com.example.eventmangementservice.common.exception.BusinessException;
+import com.example.eventmangementservice.common.id.SnowflakeIdGenerator;
+import com.example.eventmangementservice.config.JpaConfig;
+import com.example.eventmangementservice.event.model.Event;
+import com.example.eventmangementservice.event.model.SeatSection;
+import com.example.eventmangementservice.event.model.TicketType;
+import com.example.eventmangementservice.event.model.Venue;
+import com.example.eventmangementservice.event.repository.EventRepository;
+import com.example.eventmangementservice.event.repository.SeatSectionRepository;
+import com.example.eventmangementservice.event.repository.TicketTypeRepository;
+import com.example.eventmangementservice.event.repository.VenueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Runs the sequencer against H2 outside a test transaction, so its batches really commit or roll back
+@DataJpaTest
+@Import({JpaConfig.class, BookingService.class, PessimisticInventoryReservationStrategy.class, EventSeatCounter.class,
+        SeatAllocator.class, SalesStatsRecorder.class, BookingPayloadCodec.class, SnowflakeIdGenerator.class})
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.id.node-id=1"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingSequencerTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingSubmissionRepository submissionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+
+    @Autowired
+    private SeatSectionRepository seatSectionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CountingTransactionManager countingTransactionManager;
+    private BookingSequencer sequencer;
+    private Venue venue;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        countingTransactionManager = new CountingTransactionManager(transactionManager);
+
+        venue = new Venue();
+        venue.setName("Arena");
+        venue.setAddress("1 Main Street");
+        venue.setCapacity(1000);
+        venueRepository.save(venue);
+        event = event("Concert");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (sequencer != null) {
+            sequencer.stop();
+        }
+    }
+
+    @Test
+    void rejectedCommandLeavesNothingBehindWhileTheRestCommitTogether() {
+        TicketType standard = ticketType(10);
+        section(standard, 2, 10);
+        startSequencer(4);
+
+        List<CompletableFuture<BookingResponse>> results = List.of(
+                submit(standard, 4), submit(standard, 4), submit(standard, 5), submit(standard, 2));
+
+        assertThat(results.get(0).join().getSeats()).hasSize(4);
+        assertThat(results.get(1).join().getSeats()).hasSize(4);
+        assertThatThrownBy(() -> results.get(2).join())
+                .hasCauseInstanceOf(BusinessException.class)
+                .hasMessageContaining("Not enough tickets available for Standard");
+        assertThat(results.get(3).join().getSeats()).hasSize(2);
+
+        // The accepted bookings share one commit; the rejected one gets its own attempt, which rolls back
+        assertThat(countingTransactionManager.commits.get()).isEqualTo(1);
+        assertThat(count("SELECT COUNT(*) FROM bookings WHERE event_id = ?", event.getId())).isEqualTo(3);
+        assertThat(count("SELECT available FROM ticket_types WHERE id = ?", standard.getId())).isZero();
+        assertThat(count("SELECT available_seats FROM events WHERE id = ?", event.getId())).isEqualTo(90);
+        assertThat(count("SELECT COUNT(*) FROM seat_holds h JOIN bookings b ON b.id = h.booking_id " +
+                "WHERE b.event_id = ?", event.getId())).isEqualTo(10);
+    }
+
+    @Test
+    void batchFailingAtWriteTimeGivesItsSeatsBack() {
+        // Enough tickets to pass screening, but only one row of four seats to hold them in
+        TicketType standard = ticketType(10);
+        section(standard, 1, 4);
+        startSequencer(2);
+
+        CompletableFuture<BookingResponse> first = submit(standard, 3);
+        CompletableFuture<BookingResponse> second = submit(standard, 2);
+
+        assertThat(first.join().getSeats()).containsExactly("Floor-1-1", "Floor-1-2", "Floor-1-3");
+        assertThatThrownBy(second::join)
+                .hasCauseInstanceOf(BusinessException.class)
+                .hasMessageContaining("Not enough adjacent seats");
+        assertThat(count("SELECT COUNT(*) FROM bookings WHERE event_id = ?", event.getId())).isEqualTo(1);
+        assertThat(count("SELECT available FROM ticket_types WHERE id = ?", standard.getId())).isEqualTo(7);
+
+        // The seats the failed batch held in memory went back to the map, so the last seat is still for sale
+        ReflectionTestUtils.setField(sequencer, "maxBatchSize", 1);
+        assertThat(submit(standard, 1).join().getSeats()).containsExactly("Floor-1-4");
+    }
+
+    @Test
+    void lingeringLaneCommitsOncePerEvent() {
+        TicketType standard = ticketType(20);
+        Event otherEvent = event("Matinee");
+        TicketType matinee = ticketType(otherEvent, 20);
+        // The batch is closed by the linger window, well before it could fill up
+        startSequencer(64, 500L);
+
+        List<CompletableFuture<BookingResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            results.add(submit(event, standard, 2));
+        }
+        results.add(submit(event, standard, 5));
+        for (int i = 0; i < 4; i++) {
+            results.add(submit(otherEvent, matinee, 1));
+        }
+
+        results.subList(0, 9).forEach(CompletableFuture::join);
+        results.subList(10, 14).forEach(CompletableFuture::join);
+        assertThatThrownBy(() -> results.get(9).join()).hasCauseInstanceOf(BusinessException.class);
+
+        // 14 commands, one of them rejected: one commit per event, nothing for the rejected command
+        assertThat(countingTransactionManager.commits.get()).isEqualTo(2);
+        assertThat(count("SELECT available FROM ticket_types WHERE id = ?", standard.getId())).isEqualTo(2);
+        assertThat(count("SELECT available FROM ticket_types WHERE id = ?", matinee.getId())).isEqualTo(16);
+    }
+
+    private void startSequencer(int batchSize) {
+        // Long enough that a batch is only ever closed by reaching maxBatchSize
+        startSequencer(batchSize, 10_000L);
+    }
+
+    private void startSequencer(int batchSize, long lingerMs) {
+        sequencer = new BookingSequencer(bookingService, submissionRepository, countingTransactionManager);
+        ReflectionTestUtils.setField(sequencer, "laneCount", 1);
+        ReflectionTestUtils.setField(sequencer, "queueCapacity", 100);
+        ReflectionTestUtils.setField(sequencer, "maxBatchSize", batchSize);
+        ReflectionTestUtils.setField(sequencer, "lingerMs", lingerMs);
+        sequencer.start();
+    }
+
+    private CompletableFuture<BookingResponse> submit(TicketType ticketType, int quantity) {
+        return submit(event, ticketType, quantity);
+    }
+
+    private CompletableFuture<BookingResponse> submit(Event event, TicketType ticketType, int quantity) {
+        BookingCreateRequest request = new BookingCreateRequest(event.getId(),
+                List.of(new BookingCreateRequest.BookingItemRequest(ticketType.getId(), quantity)));
+        return sequencer.submit(request, "fan-" + UUID.randomUUID() + "@example.com");
+    }
+
+    private Event event(String name) {
+        Event event = new Event();
+        event.setName(name);
+        event.setStartDate(LocalDateTime.now().plusDays(7));
+        event.setEndDate(LocalDateTime.now().plusDays(7).plusHours(3));
+        event.setVenue(venue);
+        event.setTotalSeats(100);
+        event.setAvailableSeats(100);
+        event.setBasePrice(BigDecimal.TEN);
+        event.setPublished(true);
+        return eventRepository.save(event);
+    }
+
+    private TicketType ticketType(int quantity) {
+        return ticketType(event, quantity);
+    }
+
+    private TicketType ticketType(Event event, int quantity) {
+        TicketType ticketType = new TicketType();
+        ticketType.setName("Standard");
+        ticketType.setPrice(BigDecimal.TEN);
+        ticketType.setQuantity(quantity);
+        ticketType.setAvailable(quantity);
+        ticketType.setEvent(event);
+        return ticketTypeRepository.save(ticketType);
+    }
+
+    private void section(TicketType ticketType, int rows, int seatsPerRow) {
+        SeatSection section = new SeatSection();
+        section.setName("Floor");
+        section.setEvent(event);
+        section.setTicketType(ticketType);
+        section.setRowCount(rows);
+        section.setSeatsPerRow(seatsPerRow);
+        seatSectionRepository.save(section);
+    }
+
+    private int count(String sql, UUID id) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, id);
+    }
+
+    // Counts the transactions the sequencer commits; the screening reads go through the real manager
+    private static final class CountingTransactionManager implements PlatformTransactionManager {
+
+        private final PlatformTransactionManager delegate;
+        private final AtomicInteger commits = new AtomicInteger();
+
+        CountingTransactionManager(PlatformTransactionManager delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return delegate.getTransaction(definition);
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            delegate.commit(status);
+            commits.incrementAndGet();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            delegate.rollback(status);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.eventmangementservice.common.id;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Inserts random (v4) and time-ordered (v7) primary keys into a local Postgres, e.g.
+// ID_BENCHMARK_DB_URL=jdbc:postgresql://localhost:5432/event_management
+@EnabledIfEnvironmentVariable(named = "ID_BENCHMARK_DB_URL", matches = ".+")
+class UuidKeyBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UuidKeyBenchmarkTest.class);
+
+    private static final String SCHEMA = "uuid_key_benchmark";
+    private static final int ROWS = 500_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection(System.getenv("ID_BENCHMARK_DB_URL"),
+                Objects.requireNonNullElse(System.getenv("ID_BENCHMARK_DB_USER"), "postgres"),
+                Objects.requireNonNullElse(System.getenv("ID_BENCHMARK_DB_PASSWORD"), "postgres"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("SET search_path TO " + SCHEMA);
+            // Shaped like a booking row, so the heap grows as it would in production alongside the key index
+            for (String table : new String[]{"keys_v4", "keys_v7"}) {
+                statement.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, user_id varchar(255) NOT NULL, " +
+                        "status varchar(20) NOT NULL, total_amount numeric(10, 2) NOT NULL, created_at timestamp NOT NULL)");
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        }
+        connection.close();
+    }
+
+    @Test
+    void comparesRandomAndTimeOrderedKeys() throws SQLException {
+        long v4Nanos = insert("keys_v4", UUID::randomUUID);
+        long v7Nanos = insert("keys_v7", UuidV7::next);
+
+        long v4IndexBytes = indexBytes("keys_v4_pkey");
+        long v7IndexBytes = indexBytes("keys_v7_pkey");
+        log.info("uuid v4: {} rows/s, primary key index {} KB", rate(v4Nanos), v4IndexBytes / 1024);
+        log.info("uuid v7: {} rows/s, primary key index {} KB", rate(v7Nanos), v7IndexBytes / 1024);
+
+        // Appending to the right-most leaf leaves pages full; random keys split pages all over the tree
+        assertThat(v7IndexBytes).isLessThan(v4IndexBytes);
+    }
+
+    private long insert(String table, Supplier<UUID> ids) throws SQLException {
+        String sql = "INSERT INTO " + table + " (id, user_id, status, total_amount, created_at) " +
+                "VALUES (?, ?, 'PENDING', 42.50, LOCALTIMESTAMP)";
+        long start = System.nanoTime();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int row = 0; row < ROWS; row++) {
+                statement.setObject(1, ids.get());
+                statement.setString(2, "fan-" + row + "@example.com");
+                statement.addBatch();
+                if ((row + 1) % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long rate(long nanos) {
+        return Math.round(ROWS * 1e9 / nanos);
+    }
+
+    private long indexBytes(String index) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT pg_relation_size('" + SCHEMA + "." + index + "')")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.eventmangementservice.common.outbox;
+
+import com.example.eventmangementservice.config.KafkaConfig;
+import com.example.eventmangementservice.event.model.EventStatus;
+import com.example.eventmangementservice.event.outbox.EventPayload;
+import com.example.eventmangementservice.event.outbox.EventPayloadCodec;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Publishes through the producer from KafkaConfig on an embedded broker, e.g. OUTBOX_BENCHMARK=true
+@EnabledIfEnvironmentVariable(named = "OUTBOX_BENCHMARK", matches = "true")
+class OutboxKafkaPublishBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxKafkaPublishBenchmarkTest.class);
+
+    private static final int MESSAGES = 20_000;
+    private static final int BATCH_SIZE = 200;
+    private static final int AGGREGATES = 1_000;
+
+    private static final EventPayloadCodec CODEC = new EventPayloadCodec();
+
+    private static EmbeddedKafkaBroker broker;
+
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, 3, "outbox-pipelined", "outbox-transactional", "outbox-aborted",
+                "outbox-tuning-none", "outbox-tuning-lz4", "outbox-tuning-zstd")
+                .brokerProperties(Map.of(
+                        "transaction.state.log.replication.factor", "1",
+                        "transaction.state.log.min.isr", "1"));
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        broker.destroy();
+    }
+
+    @Test
+    void comparesPipelinedAndTransactionalPublishing() {
+        List<ProducerRecord<String, byte[]>> records = records("outbox-pipelined", MESSAGES);
+        KafkaTemplate<String, byte[]> pipelined = kafkaConfig(false).kafkaTemplate();
+        long pipelinedNanos = time(() -> sendAll(pipelined, records));
+
+        List<ProducerRecord<String, byte[]>> transactionalRecords = records("outbox-transactional", MESSAGES);
+        KafkaTemplate<String, byte[]> transactional = kafkaConfig(true).kafkaTemplate();
+        long transactionalNanos = time(() -> {
+            for (int from = 0; from < MESSAGES; from += BATCH_SIZE) {
+                List<ProducerRecord<String, byte[]>> batch = transactionalRecords.subList(from, from + BATCH_SIZE);
+                transactional.executeInTransaction(operations -> {
+                    batch.forEach(operations::send);
+                    return null;
+                });
+            }
+        });
+
+        log.info("pipelined: {} msg/s", rate(pipelinedNanos));
+        log.info("transactional: {} msg/s (batches of {})", rate(transactionalNanos), BATCH_SIZE);
+        assertThat(countCommitted("outbox-transactional", MESSAGES)).isEqualTo(MESSAGES);
+    }
+
+    // The untuned producer (no linger, 16 KB batches, no compression) against the configured profile and zstd
+    @Test
+    void comparesProducerTuning() {
+        publishAndReport("none", 0, 16_384, "none");
+        publishAndReport("lz4", 5, 65_536, "lz4");
+        publishAndReport("zstd", 5, 65_536, "zstd");
+    }
+
+    @Test
+    void readCommittedConsumerSkipsAbortedBatch() {
+        KafkaTemplate<String, byte[]> template = kafkaConfig(true).kafkaTemplate();
+        List<ProducerRecord<String, byte[]>> committed = records("outbox-aborted", BATCH_SIZE);
+        List<ProducerRecord<String, byte[]>> aborted = records("outbox-aborted", BATCH_SIZE);
+
+        template.executeInTransaction(operations -> {
+            committed.forEach(operations::send);
+            return null;
+        });
+        assertThatThrownBy(() -> template.executeInTransaction(operations -> {
+            aborted.forEach(operations::send);
+            operations.flush();
+            throw new IllegalStateException("relay crashed mid-batch");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(countCommitted("outbox-aborted", BATCH_SIZE)).isEqualTo(BATCH_SIZE);
+    }
+
+    private void publishAndReport(String compression, int lingerMs, int batchSize, String compressionType) {
+        KafkaConfig config = kafkaConfig(false);
+        ReflectionTestUtils.setField(config, "lingerMs", lingerMs);
+        ReflectionTestUtils.setField(config, "batchSize", batchSize);
+        ReflectionTestUtils.setField(config, "compressionType", compressionType);
+        KafkaTemplate<String, byte[]> template = config.kafkaTemplate();
+        List<ProducerRecord<String, byte[]>> records = records("outbox-tuning-" + compression, MESSAGES);
+        long payloadBytes = records.stream().mapToLong(record -> record.value().length).sum();
+
+        long nanos = time(() -> sendAll(template, records));
+
+        double wireBytes = producerMetric(template, "outgoing-byte-total");
+        log.info("{} linger={}ms batch={}: {} msg/s, {} payload bytes, {} bytes on the wire",
+                compression, lingerMs, batchSize, rate(nanos), payloadBytes, (long) wireBytes);
+        assertThat(countCommitted("outbox-tuning-" + compression, MESSAGES)).isEqualTo(MESSAGES);
+    }
+
+    private static double producerMetric(KafkaTemplate<String, byte[]> template, String name) {
+        Map<MetricName, ? extends Metric> metrics = template.metrics();
+        return metrics.entrySet().stream()
+                .filter(entry -> entry.getKey().group().equals("producer-metrics") && entry.getKey().name().equals(name))
+                .mapToDouble(entry -> ((Number) entry.getValue().metricValue()).doubleValue())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void sendAll(KafkaTemplate<String, byte[]> template, List<ProducerRecord<String, byte[]>> records) {
+        CompletableFuture<?>[] sends = records.stream().map(template::send).toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(sends).join();
+    }
+
+    private KafkaConfig kafkaConfig(boolean transactional) {
+        KafkaConfig config = new KafkaConfig();
+        ReflectionTestUtils.setField(config, "bootstrapServers", broker.getBrokersAsString());
+        ReflectionTestUtils.setField(config, "outboxTransactional", transactional);
+        ReflectionTestUtils.setField(config, "outboxTransactionIdPrefix", "outbox-bench-" + UUID.randomUUID() + "-");
+        ReflectionTestUtils.setField(config, "lingerMs", 5);
+        ReflectionTestUtils.setField(config, "batchSize", 65_536);
+        ReflectionTestUtils.setField(config, "compressionType", "lz4");
+        return config;
+    }
+
+    // Keeps polling past the expected count until a poll comes back empty, so extra records would still be counted
+    private int countCommitted(String topic, int expected) {
+        try (Consumer<String, byte[]> consumer = kafkaConfig(false).consumerFactory()
+                .createConsumer("outbox-bench-" + UUID.randomUUID(), null)) {
+            consumer.subscribe(List.of(topic));
+            int count = 0;
+            long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+            while (System.nanoTime() < deadline) {
+                ConsumerRecords<String, byte[]> polled = consumer.poll(Duration.ofMillis(500));
+                if (polled.isEmpty() && count >= expected) {
+                    break;
+                }
+                count += polled.count();
+            }
+            return count;
+        }
+    }
+
+    // Encoded EventPayloads, so compression sees the same mix of ids, text and numbers as production records
+    private static List<ProducerRecord<String, byte[]>> records(String topic, int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return IntStream.range(0, count).mapToObj(i -> {
+            String key = "aggregate-" + random.nextInt(AGGREGATES);
+            return new ProducerRecord<>(topic, key, CODEC.encode(eventPayload(i, random)));
+        }).toList();
+    }
+
+    private static EventPayload eventPayload(int index, ThreadLocalRandom random) {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 19, 0).plusDays(random.nextInt(365));
+        EventPayload.VenuePayload venue = new EventPayload.VenuePayload(UUID.randomUUID(), "Venue " + random.nextInt(200),
+                random.nextInt(1, 999) + " Main Street", "Springfield", "IL", "USA", "62701", 5_000);
+        List<EventPayload.TicketTypePayload> ticketTypes = List.of(
+                new EventPayload.TicketTypePayload(UUID.randomUUID(), "Standard", "General admission",
+                        BigDecimal.valueOf(random.nextInt(2_000, 15_000), 2), 4_500, random.nextInt(4_500)),
+                new EventPayload.TicketTypePayload(UUID.randomUUID(), "VIP", "Front rows and lounge",
+                        BigDecimal.valueOf(random.nextInt(15_000, 50_000), 2), 500, random.nextInt(500)));
+        return new EventPayload(UUID.randomUUID(), "Event " + index, "An evening of live music with support acts.",
+                start, start.plusHours(3), venue, 5_000, random.nextInt(5_000), ticketTypes.get(0).price(),
+                EventStatus.PUBLISHED, true,
+                List.of(new EventPayload.CategoryPayload(UUID.randomUUID(), "Music", "Live music")), ticketTypes,
+                start.minusMonths(2), start.minusMonths(1));
+    }
+
+    private static long rate(long nanos) {
+        return Math.round(MESSAGES * 1e9 / nanos);
+    }
+
+    private static long time(Runnable publish) {
+        long start = System.nanoTime();
+        publish.run();
+        return System.nanoTime() - start;
+    }
+}
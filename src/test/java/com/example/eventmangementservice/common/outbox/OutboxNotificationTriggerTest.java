@@ -0,0 +1,118 @@
+package com.example.eventmangementservice.common.outbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against a local Postgres, e.g. OUTBOX_TEST_DB_URL=jdbc:postgresql://localhost:5432/event_management
+@EnabledIfEnvironmentVariable(named = "OUTBOX_TEST_DB_URL", matches = ".+")
+class OutboxNotificationTriggerTest {
+
+    private static final String SCHEMA = "outbox_notify_test";
+
+    private Connection writer;
+    private Connection listener;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        writer = connect();
+        listener = connect();
+
+        try (Statement statement = writer.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("CREATE TABLE outbox_messages (id bigint PRIMARY KEY, payload text)");
+            statement.execute(OutboxNotificationListener.INSTALL_TRIGGER);
+        }
+        try (Statement statement = listener.createStatement()) {
+            statement.execute("LISTEN " + OutboxNotificationListener.CHANNEL);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = writer.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        }
+        writer.close();
+        listener.close();
+    }
+
+    @Test
+    void insertNotifiesListenerWithinMilliseconds() throws SQLException {
+        long start = System.nanoTime();
+        try (Statement statement = writer.createStatement()) {
+            statement.execute("INSERT INTO outbox_messages (id, payload) VALUES (1, '{}')");
+        }
+        PGNotification[] notifications = listener.unwrap(PGConnection.class).getNotifications(2000);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(notifications).hasSize(1);
+        assertThat(notifications[0].getName()).isEqualTo(OutboxNotificationListener.CHANNEL);
+        assertThat(elapsedMs).isLessThan(500);
+    }
+
+    @Test
+    void notificationIsDeliveredOnCommitAndFoldedPerTransaction() throws SQLException {
+        writer.setAutoCommit(false);
+        try (Statement statement = writer.createStatement()) {
+            statement.execute("INSERT INTO outbox_messages (id, payload) VALUES (1, '{}')");
+            statement.execute("INSERT INTO outbox_messages (id, payload) VALUES (2, '{}'), (3, '{}')");
+        }
+        PGConnection pgListener = listener.unwrap(PGConnection.class);
+        assertThat(pgListener.getNotifications(200)).isNullOrEmpty();
+
+        writer.commit();
+        writer.setAutoCommit(true);
+        assertThat(pgListener.getNotifications(2000)).hasSize(1);
+    }
+
+    @Test
+    void rolledBackInsertDoesNotNotify() throws SQLException {
+        writer.setAutoCommit(false);
+        try (Statement statement = writer.createStatement()) {
+            statement.execute("INSERT INTO outbox_messages (id, payload) VALUES (1, '{}')");
+        }
+        writer.rollback();
+        writer.setAutoCommit(true);
+
+        assertThat(listener.unwrap(PGConnection.class).getNotifications(500)).isNullOrEmpty();
+    }
+
+    @Test
+    void reinstallingKeepsTheExistingTrigger() throws SQLException {
+        try (Statement statement = writer.createStatement()) {
+            statement.execute(OutboxNotificationListener.INSTALL_TRIGGER);
+            try (ResultSet triggers = statement.executeQuery("SELECT COUNT(*) FROM pg_trigger " +
+                    "WHERE tgname = 'outbox_messages_notify' AND tgrelid = 'outbox_messages'::regclass")) {
+                triggers.next();
+                assertThat(triggers.getInt(1)).isEqualTo(1);
+            }
+            statement.execute("INSERT INTO outbox_messages (id, payload) VALUES (1, '{}')");
+        }
+
+        assertThat(listener.unwrap(PGConnection.class).getNotifications(2000)).hasSize(1);
+    }
+
+    private static Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(System.getenv("OUTBOX_TEST_DB_URL"),
+                Objects.requireNonNullElse(System.getenv("OUTBOX_TEST_DB_USER"), "postgres"),
+                Objects.requireNonNullElse(System.getenv("OUTBOX_TEST_DB_PASSWORD"), "postgres"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO " + SCHEMA + ", public");
+        }
+        return connection;
+    }
+}
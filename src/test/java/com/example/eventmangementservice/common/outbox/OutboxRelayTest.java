@@ -0,0 +1,162 @@
+package com.example.eventmangementservice.common.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Drives the relay against mocks; sends complete only when the test completes their futures
+class OutboxRelayTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BASE_DELAY_MS = 1_000;
+    private static final long RETRY_MAX_DELAY_MS = 60_000;
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private final OutboxRepository outboxRepository = mock(OutboxRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+    private final Map<UUID, CompletableFuture<SendResult<String, byte[]>>> sends = new ConcurrentHashMap<>();
+    private final OutboxRelay relay = new OutboxRelay(outboxRepository, jdbcTemplate, kafkaTemplate,
+            new SimpleMeterRegistry(), mock(PlatformTransactionManager.class), 100);
+
+    @AfterEach
+    void tearDown() {
+        relay.stop();
+    }
+
+    @Test
+    void failedTransactionIsDeadLetteredBeforeTheRestIsRescheduled() {
+        OutboxMessage first = message("a", 0);
+        OutboxMessage second = message("b", 1);
+        claims(List.of(second, first));
+        when(kafkaTemplate.executeInTransaction(any())).thenThrow(new KafkaException("commit failed"));
+        configure(true);
+
+        ReflectionTestUtils.invokeMethod(relay, "dispatchBatch", 10);
+        ReflectionTestUtils.invokeMethod(relay, "settle");
+
+        // Rows out of attempts move first, so the reschedule can't hand them another attempt
+        List<UUID> ids = List.of(first.getId(), second.getId());
+        InOrder order = inOrder(outboxRepository);
+        order.verify(outboxRepository).deadLetter(ids, first.getCreatedAt(), MAX_ATTEMPTS, "KafkaException: commit failed");
+        order.verify(outboxRepository).scheduleRetry(ids, first.getCreatedAt(), "KafkaException: commit failed",
+                RETRY_BASE_DELAY_MS, RETRY_MAX_DELAY_MS);
+        verify(outboxRepository, never()).markProcessed(any(), any(), any());
+    }
+
+    @Test
+    void sendsTheNextMessageOfAnAggregateOnceThePreviousIsAcknowledged() {
+        OutboxMessage first = message("a", 0);
+        OutboxMessage second = message("a", 1);
+        claims(List.of(first, second));
+        startLanes();
+
+        verify(kafkaTemplate, timeout(5_000)).send(any(ProducerRecord.class));
+        assertThat(sends).containsOnlyKeys(first.getId());
+
+        sends.get(first.getId()).complete(null);
+        verify(kafkaTemplate, timeout(5_000).times(2)).send(any(ProducerRecord.class));
+        assertThat(sends).containsOnlyKeys(first.getId(), second.getId());
+        verify(outboxRepository, timeout(5_000)).markProcessed(eq(List.of(first.getId())), eq(first.getCreatedAt()), any());
+
+        sends.get(second.getId()).complete(null);
+        verify(outboxRepository, timeout(5_000)).markProcessed(eq(List.of(second.getId())), eq(second.getCreatedAt()), any());
+    }
+
+    @Test
+    void failedSendHandsBackTheMessageQueuedBehindIt() {
+        OutboxMessage failing = message("a", 0);
+        OutboxMessage waiting = message("a", 1);
+        OutboxMessage other = message("b", 2);
+        claims(List.of(other, failing, waiting));
+        startLanes();
+
+        // The other aggregate is dispatched last, so once it is sent everything before it sits in the lane
+        verify(kafkaTemplate, timeout(5_000).times(2)).send(any(ProducerRecord.class));
+        assertThat(sends).containsOnlyKeys(failing.getId(), other.getId());
+
+        sends.get(other.getId()).complete(null);
+        sends.get(failing.getId()).completeExceptionally(new RuntimeException("broker down"));
+
+        verify(outboxRepository, timeout(5_000)).release(List.of(waiting.getId()), waiting.getCreatedAt());
+        verify(outboxRepository, timeout(5_000)).scheduleRetry(List.of(failing.getId()), failing.getCreatedAt(),
+                "RuntimeException: broker down", RETRY_BASE_DELAY_MS, RETRY_MAX_DELAY_MS);
+        verify(outboxRepository).deadLetter(List.of(failing.getId()), failing.getCreatedAt(), MAX_ATTEMPTS,
+                "RuntimeException: broker down");
+        verify(outboxRepository, timeout(5_000)).markProcessed(eq(List.of(other.getId())), eq(other.getCreatedAt()), any());
+        assertThat(sends).containsOnlyKeys(failing.getId(), other.getId());
+    }
+
+    private void startLanes() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            ProducerRecord<String, byte[]> record = invocation.getArgument(0);
+            UUID id = UUID.fromString(new String(
+                    record.headers().lastHeader(OutboxRelay.OUTBOX_ID_HEADER).value(), StandardCharsets.UTF_8));
+            return sends.computeIfAbsent(id, key -> new CompletableFuture<>());
+        });
+        configure(false);
+        relay.start();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void claims(List<OutboxMessage> batch) {
+        // The first claim returns the batch, in no particular order as RETURNING would; later claims find nothing
+        List<List<OutboxMessage>> claims = new ArrayList<>(List.of(batch));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation ->
+                new ArrayList<>(claims.isEmpty() ? List.of() : claims.remove(0)));
+    }
+
+    private void configure(boolean transactional) {
+        ReflectionTestUtils.setField(relay, "transactional", transactional);
+        ReflectionTestUtils.setField(relay, "laneCount", 1);
+        ReflectionTestUtils.setField(relay, "batchSize", 10);
+        ReflectionTestUtils.setField(relay, "leaseSeconds", 30);
+        ReflectionTestUtils.setField(relay, "windowDays", 2);
+        ReflectionTestUtils.setField(relay, "minPollIntervalMs", 5L);
+        ReflectionTestUtils.setField(relay, "maxPollIntervalMs", 20L);
+        ReflectionTestUtils.setField(relay, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(relay, "retryBaseDelayMs", RETRY_BASE_DELAY_MS);
+        ReflectionTestUtils.setField(relay, "retryMaxDelayMs", RETRY_MAX_DELAY_MS);
+    }
+
+    private static OutboxMessage message(String aggregateId, int secondsAfterT0) {
+        return OutboxMessage.builder()
+                .id(UUID.randomUUID())
+                .aggregateType("EVENT")
+                .aggregateId(aggregateId)
+                .eventType("EVENT_UPDATED")
+                .payload(new byte[]{1})
+                .createdAt(T0.plusSeconds(secondsAfterT0))
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.eventmangementservice.common.scheduling;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Steps the wheel by hand instead of starting its driver thread, so every tick is deterministic
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK_MS = 10;
+
+    private final List<List<String>> dispatched = new ArrayList<>();
+    // Four buckets per level: level 0 spans 4 ticks, level 1 spans 16 and level 2 spans 64
+    private final HierarchicalTimingWheel<String> wheel =
+            new HierarchicalTimingWheel<>("test-wheel", TICK_MS, 4, 3, Runnable::run, dispatched::add);
+    private final long startMs = (long) ReflectionTestUtils.getField(wheel, "startMs");
+
+    @Test
+    void cascadesDownTheLevelsAndFiresOnTheDeadlineTick() {
+        scheduleAtTick(3, "level 0");
+        scheduleAtTick(4, "level 1 boundary");
+        scheduleAtTick(7, "level 1");
+        scheduleAtTick(17, "level 2");
+        scheduleAtTick(63, "level 2 last");
+        scheduleAtTick(100, "beyond the top level");
+        assertThat(wheel.size()).isEqualTo(6);
+
+        Map<String, Long> firedAt = new HashMap<>();
+        for (long tick = 1; tick <= 100; tick++) {
+            for (String item : advance()) {
+                firedAt.put(item, tick);
+            }
+        }
+
+        assertThat(firedAt).containsOnly(
+                Map.entry("level 0", 3L),
+                Map.entry("level 1 boundary", 4L),
+                Map.entry("level 1", 7L),
+                Map.entry("level 2", 17L),
+                Map.entry("level 2 last", 63L),
+                Map.entry("beyond the top level", 100L));
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cascadedAndDirectEntriesDueOnTheSameTickFireTogether() {
+        scheduleAtTick(20, "scheduled early");
+        advanceTo(18);
+        scheduleAtTick(20, "scheduled late");
+
+        assertThat(advance()).isEmpty();
+        assertThat(advance()).containsExactlyInAnyOrder("scheduled early", "scheduled late");
+    }
+
+    @Test
+    void deadlineBetweenTicksRoundsUpToTheNextTick() {
+        wheel.schedule(startMs + 2 * TICK_MS + 1, "between 2 and 3");
+
+        assertThat(advanceTo(2)).isEmpty();
+        assertThat(advance()).containsExactly("between 2 and 3");
+    }
+
+    @Test
+    void pastDeadlineIsDispatchedStraightAway() {
+        advanceTo(5);
+
+        wheel.schedule(startMs + 3 * TICK_MS, "overdue");
+
+        assertThat(dispatched).containsExactly(List.of("overdue"));
+        assertThat(wheel.size()).isZero();
+    }
+
+    private void scheduleAtTick(long tick, String item) {
+        wheel.schedule(startMs + tick * TICK_MS, item);
+    }
+
+    private List<String> advance() {
+        return ReflectionTestUtils.invokeMethod(wheel, "advance");
+    }
+
+    // Returns whatever fired on the way
+    private List<String> advanceTo(long tick) {
+        List<String> fired = new ArrayList<>();
+        while ((long) ReflectionTestUtils.getField(wheel, "currentTick") < tick) {
+            fired.addAll(advance());
+        }
+        return fired;
+    }
+}
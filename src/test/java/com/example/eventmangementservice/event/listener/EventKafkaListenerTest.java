@@ -0,0 +1,92 @@
+package com.example.eventmangementservice.event.listener;
+
+import com.example.eventmangementservice.common.outbox.OutboxRelay;
+import com.example.eventmangementservice.common.outbox.codec.PayloadWriter;
+import com.example.eventmangementservice.event.model.EventStatus;
+import com.example.eventmangementservice.event.outbox.EventPayload;
+import com.example.eventmangementservice.event.outbox.EventPayloadCodec;
+import com.example.eventmangementservice.event.search.EventSearchService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class EventKafkaListenerTest {
+
+    private final EventPayloadCodec codec = new EventPayloadCodec();
+    private final EventSearchService eventSearchService = mock(EventSearchService.class);
+    private final EventKafkaListener listener = new EventKafkaListener(eventSearchService, codec);
+
+    @Test
+    void collapsesUpdatesToTheLatestPerEvent() {
+        UUID concertId = UUID.randomUUID();
+        UUID talkId = UUID.randomUUID();
+        EventPayload finalConcert = payload(concertId, "Concert, moved to Friday");
+
+        listener.handleEventMessages(List.of(
+                record("EVENT_CREATED", payload(concertId, "Concert")),
+                record("EVENT_CREATED", payload(talkId, "Talk")),
+                record("EVENT_UPDATED", payload(concertId, "Concert, new venue")),
+                record("EVENT_DELETED", payload(talkId, "Talk")),
+                record("EVENT_PUBLISHED", finalConcert)));
+
+        verify(eventSearchService).applyIndexChanges(List.of(finalConcert), List.of(talkId));
+    }
+
+    @Test
+    void skipsUndecodableAndUnknownMessages() {
+        EventPayload event = payload(UUID.randomUUID(), "Workshop");
+        ConsumerRecord<String, byte[]> undecodable = new ConsumerRecord<>("events", 0, 0, "broken", new byte[]{42});
+        undecodable.headers().add(new RecordHeader(OutboxRelay.EVENT_TYPE_HEADER,
+                "EVENT_UPDATED".getBytes(StandardCharsets.UTF_8)));
+
+        listener.handleEventMessages(List.of(
+                undecodable,
+                record("EVENT_ARCHIVED", payload(UUID.randomUUID(), "Old")),
+                record("EVENT_UPDATED", event)));
+
+        verify(eventSearchService).applyIndexChanges(List.of(event), List.of());
+    }
+
+    @Test
+    void skipsPayloadsWithOutOfRangeFields() {
+        EventPayload event = payload(UUID.randomUUID(), "Workshop");
+        byte[] farFutureStart = new PayloadWriter(EventPayloadCodec.SCHEMA_VERSION)
+                .writeUuid(UUID.randomUUID()).writeString("Festival").writeString(null)
+                .writeBoolean(true).writeLong(Long.MAX_VALUE).writeInt(0)
+                .toByteArray();
+        byte[] oversizedName = new PayloadWriter(EventPayloadCodec.SCHEMA_VERSION)
+                .writeUuid(UUID.randomUUID()).writeLong(1L << 39)
+                .toByteArray();
+
+        listener.handleEventMessages(List.of(
+                record("EVENT_UPDATED", "far-future", farFutureStart),
+                record("EVENT_UPDATED", "oversized", oversizedName),
+                record("EVENT_UPDATED", event)));
+
+        verify(eventSearchService).applyIndexChanges(List.of(event), List.of());
+    }
+
+    private ConsumerRecord<String, byte[]> record(String eventType, EventPayload event) {
+        return record(eventType, event.id().toString(), codec.encode(event));
+    }
+
+    private ConsumerRecord<String, byte[]> record(String eventType, String key, byte[] value) {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("events", 0, 0, key, value);
+        record.headers().add(new RecordHeader(OutboxRelay.EVENT_TYPE_HEADER, eventType.getBytes(StandardCharsets.UTF_8)));
+        return record;
+    }
+
+    private static EventPayload payload(UUID id, String name) {
+        LocalDateTime start = LocalDateTime.of(2026, 9, 4, 20, 0);
+        return new EventPayload(id, name, null, start, start.plusHours(2), null, null, null, null,
+                EventStatus.PUBLISHED, true, List.of(), List.of(), null, null);
+    }
+}
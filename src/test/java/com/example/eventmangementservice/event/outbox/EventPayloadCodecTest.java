@@ -0,0 +1,88 @@
+package com.example.eventmangementservice.event.outbox;
+
+import com.example.eventmangementservice.event.model.EventStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventPayloadCodecTest {
+
+    private final EventPayloadCodec codec = new EventPayloadCodec();
+
+    @Test
+    void roundTripsEveryField() {
+        EventPayload payload = samplePayload();
+
+        assertThat(codec.decode(codec.encode(payload))).isEqualTo(payload);
+    }
+
+    @Test
+    void roundTripsMissingOptionalFields() {
+        EventPayload payload = new EventPayload(UUID.randomUUID(), "Talk", null, LocalDateTime.of(2026, 5, 1, 18, 0),
+                LocalDateTime.of(2026, 5, 1, 20, 0), null, null, null, null, null, false, List.of(), List.of(),
+                null, null);
+
+        assertThat(codec.decode(codec.encode(payload))).isEqualTo(payload);
+    }
+
+    @Test
+    void rejectsUnknownSchemaVersion() {
+        byte[] data = codec.encode(samplePayload());
+        data[0] = (byte) (EventPayloadCodec.SCHEMA_VERSION + 1);
+
+        assertThatThrownBy(() -> codec.decode(data))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("schema version");
+    }
+
+    @Test
+    void rejectsTruncatedPayload() {
+        byte[] data = codec.encode(samplePayload());
+        byte[] truncated = Arrays.copyOf(data, data.length / 2);
+
+        assertThatThrownBy(() -> codec.decode(truncated)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void encodesSmallerThanJson() throws Exception {
+        EventPayload payload = samplePayload();
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        int binarySize = codec.encode(payload).length;
+        int jsonSize = objectMapper.writeValueAsBytes(payload).length;
+
+        // About 420 against 1100 bytes for this payload
+        assertThat(binarySize).isLessThan(jsonSize / 2);
+    }
+
+    private EventPayload samplePayload() {
+        EventPayload.VenuePayload venue = new EventPayload.VenuePayload(UUID.randomUUID(), "Madison Square Garden",
+                "4 Pennsylvania Plaza", "New York", "NY", "USA", "10001", 20000);
+        List<EventPayload.CategoryPayload> categories = List.of(
+                new EventPayload.CategoryPayload(UUID.randomUUID(), "Music", "Live music"),
+                new EventPayload.CategoryPayload(UUID.randomUUID(), "Rock", null));
+        List<EventPayload.TicketTypePayload> ticketTypes = List.of(
+                new EventPayload.TicketTypePayload(UUID.randomUUID(), "Standard", "General admission",
+                        new BigDecimal("79.90"), 15000, 12000),
+                new EventPayload.TicketTypePayload(UUID.randomUUID(), "VIP", "Front rows and lounge",
+                        new BigDecimal("249.00"), 500, 12));
+        LocalDateTime start = LocalDateTime.of(2026, 7, 14, 19, 30, 0, 123_456_000);
+
+        return new EventPayload(UUID.randomUUID(), "Summer Tour 2026",
+                "The band's first stadium tour in five years, with support acts.", start, start.plusHours(4),
+                venue, 20000, 12012, new BigDecimal("79.90"), EventStatus.PUBLISHED, true, categories, ticketTypes,
+                LocalDateTime.of(2026, 1, 10, 9, 0), LocalDateTime.of(2026, 2, 3, 11, 15));
+    }
+}